@@ -0,0 +1,336 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only history of benchmark measurements in a local tab-separated file, and the
+ * statistics to compare two sets of runs.
+ *
+ * Each line holds the per-iteration times of one (algorithm, size, threshold) in one
+ * run, together with the run id, git revision, JVM, machine fingerprint and
+ * parallelism, so results from different commits and machines are never mixed up
+ * silently. The file is benchmark-history.tsv in the working directory unless
+ * -Dmatrix.history=path is set.
+ *
+ * compare() computes Welch's 95% confidence interval for the change in mean time of
+ * every configuration measured in both the baseline and the candidate runs, and flags
+ * it as a slowdown when the whole interval lies above zero.
+ */
+public class BenchmarkHistory {
+
+    public static final String DEFAULT_FILE = "benchmark-history.tsv";
+
+    private static final String HEADER =
+        "run\ttimestamp\tgit\tjvm\tmachine\tparallelism\tsource\talgorithm\tsize\tthreshold\tsamples_ms";
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path file;
+    private final String runId;
+    private final String timestamp;
+    private final String gitRevision;
+    private final String jvm;
+    private final String machine;
+
+    public BenchmarkHistory(Path file) {
+        LocalDateTime now = LocalDateTime.now();
+        this.file = file;
+        this.runId = now.format(RUN_ID);
+        this.timestamp = now.toString();
+        this.gitRevision = gitRevision();
+        this.jvm = jvmDescription();
+        this.machine = machineFingerprint();
+    }
+
+    /**
+     * History in the file named by -Dmatrix.history, or benchmark-history.tsv.
+     */
+    public static BenchmarkHistory open() {
+        return new BenchmarkHistory(historyFile());
+    }
+
+    public static Path historyFile() {
+        return Path.of(System.getProperty("matrix.history", DEFAULT_FILE));
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    /**
+     * Appends the iteration times of one configuration. A history that cannot be
+     * written must not abort a benchmark, so failures are only reported on stderr.
+     *
+     * @param source where the measurement came from, e.g. "console" or "gui"
+     */
+    public synchronized void record(String source, String algorithm, int size, int threshold, double[] samplesMs) {
+        StringBuilder samples = new StringBuilder();
+        for (double sample : samplesMs) {
+            if (samples.length() > 0) samples.append(';');
+            samples.append(String.format(Locale.ROOT, "%.4f", sample));
+        }
+        String line = String.join("\t", runId, timestamp, gitRevision, jvm, machine,
+            String.valueOf(ForkJoinPool.getCommonPoolParallelism()), clean(source), clean(algorithm),
+            String.valueOf(size), String.valueOf(threshold), samples) + System.lineSeparator();
+        try {
+            if (!Files.exists(file)) {
+                Files.writeString(file, HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+            }
+            Files.writeString(file, line, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not write benchmark history " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * One line of the history file.
+     */
+    static class Entry {
+        final String run, git, jvm, machine, algorithm;
+        final int size, threshold;
+        final double[] samples;
+
+        Entry(String[] fields) {
+            this.run = fields[0];
+            this.git = fields[2];
+            this.jvm = fields[3];
+            this.machine = fields[4];
+            this.algorithm = fields[7];
+            this.size = Integer.parseInt(fields[8]);
+            this.threshold = Integer.parseInt(fields[9]);
+            String[] values = fields[10].isEmpty() ? new String[0] : fields[10].split(";");
+            this.samples = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                samples[i] = Double.parseDouble(values[i]);
+            }
+        }
+
+        String key() {
+            return algorithm + " @ " + size + "x" + size + ", threshold " + threshold;
+        }
+    }
+
+    static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("run\t")) continue;
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 11) {
+                throw new IOException("Malformed history line in " + file + ": " + line);
+            }
+            entries.add(new Entry(fields));
+        }
+        return entries;
+    }
+
+    /**
+     * Compares a candidate set of runs with a baseline and prints one verdict per
+     * configuration measured in both.
+     *
+     * A selector is a run id, a git revision (prefix), "latest", "previous" or
+     * "latest~N" (N runs before the latest); when a revision matches several runs
+     * their samples are pooled. By default the latest run is compared with the one
+     * before it.
+     *
+     * @return the number of configurations that got significantly slower
+     */
+    static int compare(String baselineSelector, String candidateSelector) throws IOException {
+        Path file = historyFile();
+        if (!Files.exists(file)) {
+            throw new IllegalArgumentException("No benchmark history at " + file + "; run the benchmark first");
+        }
+        List<Entry> entries = read(file);
+        List<String> runs = new ArrayList<>(new LinkedHashSet<>(entries.stream().map(e -> e.run).toList()));
+
+        List<Entry> baseline = select(entries, runs, baselineSelector);
+        List<Entry> candidate = select(entries, runs, candidateSelector);
+        System.out.println("=== Benchmark Comparison (" + file + ") ===\n");
+        describe("Baseline ", baselineSelector, baseline);
+        describe("Candidate", candidateSelector, candidate);
+        if (!baseline.get(0).machine.equals(candidate.get(0).machine) || !baseline.get(0).jvm.equals(candidate.get(0).jvm)) {
+            System.out.println("WARNING: baseline and candidate ran on different machines or JVMs");
+        }
+        System.out.println();
+
+        Map<String, List<Double>> base = pool(baseline);
+        Map<String, List<Double>> cand = pool(candidate);
+        int slower = 0;
+        System.out.println("Configuration                                          | Baseline (ms)       | Candidate (ms)      | Change (95% CI)            | Verdict");
+        System.out.println("-------------------------------------------------------|---------------------|---------------------|----------------------------|--------");
+        for (Map.Entry<String, List<Double>> e : cand.entrySet()) {
+            List<Double> b = base.get(e.getKey());
+            List<Double> c = e.getValue();
+            if (b == null || b.size() < 2 || c.size() < 2) continue;
+
+            double mb = mean(b), mc = mean(c);
+            double vb = variance(b, mb) / b.size(), vc = variance(c, mc) / c.size();
+            double se = Math.sqrt(vb + vc);
+            // Welch-Satterthwaite degrees of freedom
+            double df = se == 0 ? Double.POSITIVE_INFINITY
+                      : (vb + vc) * (vb + vc) / (vb * vb / (b.size() - 1) + vc * vc / (c.size() - 1));
+            double half = tQuantile975(df) * se;
+            double low = 100 * (mc - mb - half) / mb, high = 100 * (mc - mb + half) / mb;
+            String verdict = low > 0 ? "SLOWER" : high < 0 ? "faster" : "same";
+            if (low > 0) slower++;
+
+            System.out.printf(Locale.ROOT, "%-54s | %8.2f +/- %-6.2f | %8.2f +/- %-6.2f | %+6.1f%% [%+6.1f%%, %+6.1f%%] | %s\n",
+                e.getKey(), mb, tQuantile975(b.size() - 1) * Math.sqrt(vb),
+                mc, tQuantile975(c.size() - 1) * Math.sqrt(vc),
+                100 * (mc - mb) / mb, low, high, verdict);
+        }
+        System.out.println("\n" + slower + " significant slowdown(s)");
+        return slower;
+    }
+
+    private static List<Entry> select(List<Entry> entries, List<String> runs, String selector) {
+        List<Entry> selected = new ArrayList<>();
+        int back = runsBack(selector);
+        if (back >= 0) {
+            if (back >= runs.size()) {
+                throw new IllegalArgumentException("History has " + runs.size() + " run(s); cannot select " + selector +
+                    ", which needs " + (back + 1));
+            }
+            String run = runs.get(runs.size() - 1 - back);
+            entries.stream().filter(e -> e.run.equals(run)).forEach(selected::add);
+        } else {
+            entries.stream().filter(e -> e.run.equals(selector) || e.git.startsWith(selector)).forEach(selected::add);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No runs in the history match: " + selector);
+        }
+        return selected;
+    }
+
+    /**
+     * Number of runs before the latest that a relative selector names ("latest" is 0,
+     * "previous" and "latest~1" are 1), or -1 for a run id or revision.
+     */
+    private static int runsBack(String selector) {
+        if (selector.equals("latest")) return 0;
+        if (selector.equals("previous")) return 1;
+        if (selector.startsWith("latest~")) {
+            try {
+                int back = Integer.parseInt(selector.substring("latest~".length()));
+                if (back >= 0) return back;
+            } catch (NumberFormatException e) {
+                // Fall through to the error below
+            }
+            throw new IllegalArgumentException("Invalid relative selector: " + selector);
+        }
+        return -1;
+    }
+
+    private static void describe(String label, String selector, List<Entry> entries) {
+        LinkedHashSet<String> runs = new LinkedHashSet<>(), revisions = new LinkedHashSet<>();
+        for (Entry e : entries) {
+            runs.add(e.run);
+            revisions.add(e.git);
+        }
+        System.out.println(label + " (" + selector + "): runs " + runs + ", git " + revisions);
+    }
+
+    private static Map<String, List<Double>> pool(List<Entry> entries) {
+        Map<String, List<Double>> samples = new LinkedHashMap<>();
+        for (Entry e : entries) {
+            List<Double> list = samples.computeIfAbsent(e.key(), k -> new ArrayList<>());
+            for (double s : e.samples) list.add(s);
+        }
+        return samples;
+    }
+
+    private static double mean(List<Double> values) {
+        double sum = 0;
+        for (double v : values) sum += v;
+        return sum / values.size();
+    }
+
+    private static double variance(List<Double> values, double mean) {
+        double sum = 0;
+        for (double v : values) sum += (v - mean) * (v - mean);
+        return sum / (values.size() - 1);
+    }
+
+    /**
+     * 97.5% quantile of Student's t distribution (two-sided 95%), from the Cornish-Fisher
+     * expansion around the normal quantile; within 1% of the exact value for df >= 2.
+     */
+    static double tQuantile975(double df) {
+        if (df < 2) {
+            // Exact values for df = 1 and 2, interpolated in between
+            return df <= 1 ? 12.706 : 12.706 + (df - 1) * (4.303 - 12.706);
+        }
+        double z = 1.959963984540054;
+        double z3 = z * z * z, z5 = z3 * z * z, z7 = z5 * z * z, z9 = z7 * z * z;
+        double g1 = (z3 + z) / 4;
+        double g2 = (5 * z5 + 16 * z3 + 3 * z) / 96;
+        double g3 = (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / 384;
+        double g4 = (79 * z9 + 776 * z7 + 1482 * z5 - 1920 * z3 - 945 * z) / 92160;
+        return z + g1 / df + g2 / (df * df) + g3 / (df * df * df) + g4 / (df * df * df * df);
+    }
+
+    /**
+     * OS, CPU model, core count and maximum heap, which together decide whether two
+     * measurements are comparable.
+     */
+    static String machineFingerprint() {
+        String cpu = System.getProperty("os.arch");
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/cpuinfo"))) {
+                if (line.startsWith("model name")) {
+                    cpu = line.substring(line.indexOf(':') + 1).trim();
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux; the architecture has to do
+        }
+        return clean(System.getProperty("os.name") + " " + System.getProperty("os.version") + ", " + cpu + ", " +
+            Runtime.getRuntime().availableProcessors() + " cpus, " + (Runtime.getRuntime().maxMemory() >> 20) + " MB heap");
+    }
+
+    static String jvmDescription() {
+        return clean(System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version") + " " +
+            String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()));
+    }
+
+    /**
+     * Short hash of HEAD, or "unknown" outside a git checkout.
+     */
+    static String gitRevision() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String revision;
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(git.getInputStream(), StandardCharsets.UTF_8))) {
+                revision = out.readLine();
+            }
+            if (!git.waitFor(5, TimeUnit.SECONDS)) {
+                git.destroy();
+            } else if (git.exitValue() == 0 && revision != null) {
+                return clean(revision);
+            }
+        } catch (IOException e) {
+            // git not installed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+
+    private static String clean(String field) {
+        return field.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ').trim();
+    }
+}
@@ -0,0 +1,425 @@
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+import matrix.Matrix;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Heatmap of a Matrix, downsampled to screen resolution.
+ *
+ * Every screen pixel pools the block of cells it covers into one value (mean, min or
+ * max), so a 8000 x 8000 matrix fits a few hundred pixels without hiding outliers: min
+ * and max pooling keep a single bad cell visible at any zoom level. Pooling runs as a
+ * RecursiveAction over bands of pixel rows on the common pool, each leaf streaming the
+ * matrix rows of its band once. The pooled values are mapped through a colour ramp
+ * into an int[] that is written to the WritableImage's PixelWriter in one call.
+ *
+ * The wheel zooms around the cursor, dragging pans and double-click fits the whole
+ * matrix again. Only the visible region is pooled, so the cost of a frame is bounded
+ * by the cells on screen, and bursts of mouse events are coalesced into one render.
+ * The colour scale spans the visible pooled values; NaN and infinite cells are drawn
+ * in magenta so they stand out.
+ */
+public class HeatmapView extends Region {
+
+    public enum Pooling { MEAN, MIN, MAX }
+
+    // Pixel rows pooled by one leaf task
+    private static final int THRESHOLD = 8;
+    private static final double ZOOM_STEP = 1.25;
+    // Most zoomed in: one cell covers 32 x 32 pixels
+    private static final double MIN_CELLS_PER_PIXEL = 1.0 / 32;
+    private static final int BACKGROUND = 0xFFE0E0E0;
+    private static final int NON_FINITE = 0xFFFF00FF;
+    private static final int[] PALETTE = buildPalette();
+
+    private final ImageView imageView = new ImageView();
+    private final Label status = new Label();
+
+    private Matrix matrix;
+    private Pooling pooling = Pooling.MEAN;
+    private WritableImage image;
+    private int[] pixels;
+    private double[] pooled;
+
+    // Viewport: matrix coordinates of the top-left pixel and cells per pixel
+    private double viewRow, viewCol, scale = 1;
+    // True until the user zooms or pans, so a resize fits the matrix again
+    private boolean autoFit = true;
+    private boolean renderPending;
+    private double dragX, dragY;
+    private String rangeText = "";
+
+    public HeatmapView() {
+        status.setStyle("-fx-background-color: rgba(255, 255, 255, 0.85); -fx-padding: 2 6 2 6;");
+        status.setAlignment(Pos.CENTER_LEFT);
+        status.setMouseTransparent(true);
+        getChildren().addAll(imageView, status);
+
+        addEventHandler(ScrollEvent.SCROLL, this::wheelScrolled);
+        addEventHandler(MouseEvent.MOUSE_PRESSED, e -> {
+            dragX = e.getX();
+            dragY = e.getY();
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) fit();
+        });
+        addEventHandler(MouseEvent.MOUSE_DRAGGED, this::dragged);
+        addEventHandler(MouseEvent.MOUSE_MOVED, e -> showStatus(e.getX(), e.getY()));
+        addEventHandler(MouseEvent.MOUSE_EXITED, e -> showStatus(-1, -1));
+    }
+
+    /**
+     * Shows the given matrix (or nothing for null), fitted to the view.
+     */
+    public void setMatrix(Matrix matrix) {
+        this.matrix = matrix;
+        fit();
+    }
+
+    public Matrix getMatrix() {
+        return matrix;
+    }
+
+    public void setPooling(Pooling pooling) {
+        this.pooling = pooling;
+        requestRender();
+    }
+
+    /**
+     * Zooms out until the whole matrix is visible, centred.
+     */
+    public void fit() {
+        autoFit = true;
+        int w = imageWidth(), h = imageHeight();
+        if (matrix != null && w > 0 && h > 0) {
+            scale = Math.max((double) matrix.rows / h, (double) matrix.cols / w);
+            viewRow = (matrix.rows - h * scale) / 2;
+            viewCol = (matrix.cols - w * scale) / 2;
+        }
+        requestRender();
+    }
+
+    /**
+     * Renders again, e.g. after Matrix.data was changed outside the view.
+     */
+    public void refresh() {
+        requestRender();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        int w = (int) Math.floor(getWidth() - snappedLeftInset() - snappedRightInset());
+        int h = (int) Math.floor(getHeight() - snappedTopInset() - snappedBottomInset());
+        imageView.relocate(snappedLeftInset(), snappedTopInset());
+        double statusHeight = status.prefHeight(-1);
+        status.resizeRelocate(snappedLeftInset(), snappedTopInset() + Math.max(0, h - statusHeight),
+                              Math.max(0, w), statusHeight);
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        if (image == null || (int) image.getWidth() != w || (int) image.getHeight() != h) {
+            image = new WritableImage(w, h);
+            pixels = new int[w * h];
+            pooled = new double[w * h];
+            imageView.setImage(image);
+            if (autoFit) {
+                fit();
+            } else {
+                if (matrix != null) clampView();
+                requestRender();
+            }
+        }
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return 600;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return 450;
+    }
+
+    private int imageWidth() {
+        return image != null ? (int) image.getWidth() : 0;
+    }
+
+    private int imageHeight() {
+        return image != null ? (int) image.getHeight() : 0;
+    }
+
+    private void wheelScrolled(ScrollEvent e) {
+        if (matrix == null || e.getDeltaY() == 0) return;
+        double x = e.getX() - snappedLeftInset(), y = e.getY() - snappedTopInset();
+        double fitScale = Math.max((double) matrix.rows / Math.max(1, imageHeight()),
+                                   (double) matrix.cols / Math.max(1, imageWidth()));
+        double newScale = e.getDeltaY() > 0 ? scale / ZOOM_STEP : scale * ZOOM_STEP;
+        newScale = Math.max(MIN_CELLS_PER_PIXEL, Math.min(Math.max(fitScale, MIN_CELLS_PER_PIXEL), newScale));
+        // Keep the cell under the cursor where it is
+        viewRow += y * (scale - newScale);
+        viewCol += x * (scale - newScale);
+        scale = newScale;
+        autoFit = false;
+        clampView();
+        requestRender();
+        showStatus(e.getX(), e.getY());
+        e.consume();
+    }
+
+    private void dragged(MouseEvent e) {
+        if (matrix == null) return;
+        viewRow -= (e.getY() - dragY) * scale;
+        viewCol -= (e.getX() - dragX) * scale;
+        dragX = e.getX();
+        dragY = e.getY();
+        autoFit = false;
+        clampView();
+        requestRender();
+    }
+
+    /**
+     * Keeps at least part of the matrix on screen; a matrix smaller than the view stays
+     * centred along that axis.
+     */
+    private void clampView() {
+        viewRow = clampAxis(viewRow, matrix.rows, imageHeight() * scale);
+        viewCol = clampAxis(viewCol, matrix.cols, imageWidth() * scale);
+    }
+
+    private static double clampAxis(double start, int cells, double visible) {
+        if (visible >= cells) return (cells - visible) / 2;
+        return Math.max(0, Math.min(cells - visible, start));
+    }
+
+    private void showStatus(double x, double y) {
+        if (matrix == null) {
+            status.setText("");
+            return;
+        }
+        String where = "";
+        int row = (int) Math.floor(viewRow + (y - snappedTopInset()) * scale);
+        int col = (int) Math.floor(viewCol + (x - snappedLeftInset()) * scale);
+        if (x >= 0 && y >= 0 && row >= 0 && row < matrix.rows && col >= 0 && col < matrix.cols) {
+            where = String.format("  |  (%d, %d) = %s", row + 1, col + 1, MatrixView.format(matrix.data[row][col]));
+        }
+        status.setText(rangeText + where);
+    }
+
+    /**
+     * Coalesces repaint requests from bursts of mouse events into one render per pulse.
+     */
+    private void requestRender() {
+        if (renderPending) return;
+        renderPending = true;
+        Platform.runLater(() -> {
+            renderPending = false;
+            render();
+        });
+    }
+
+    private void render() {
+        if (image == null) return;
+        int w = imageWidth(), h = imageHeight();
+        if (matrix == null || matrix.rows == 0 || matrix.cols == 0) {
+            Arrays.fill(pixels, BACKGROUND);
+            image.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+            rangeText = "";
+            status.setText("");
+            return;
+        }
+
+        long start = System.nanoTime();
+        int[] rowStart = boundaries(viewRow, scale, h, matrix.rows);
+        int[] colStart = boundaries(viewCol, scale, w, matrix.cols);
+        double[] range = pool(matrix, pooling, rowStart, colStart, pooled);
+        colorize(pooled, rowStart, colStart, matrix, range[0], range[1], pixels);
+        image.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+        double ms = (System.nanoTime() - start) / 1e6;
+
+        String resolution = scale >= 1
+            ? String.format("%s of %.0f x %.0f cells per pixel", pooling.name().toLowerCase(), scale, scale)
+            : String.format("%.0f pixels per cell", 1 / scale);
+        rangeText = String.format("%s, range [%s, %s], %.0f ms",
+            resolution, MatrixView.format(range[0]), MatrixView.format(range[1]), ms);
+        status.setText(rangeText);
+    }
+
+    /**
+     * Pools the cells under each pixel into `out` (row-major, one entry per pixel),
+     * given the pixel boundaries along each axis from {@link #boundaries}. Pixels
+     * outside the matrix are left untouched.
+     *
+     * @return the min and max of the finite pooled values (0, 0 if there are none)
+     */
+    static double[] pool(Matrix m, Pooling pooling, int[] rowStart, int[] colStart, double[] out) {
+        PoolTask root = new PoolTask(m, pooling, rowStart, colStart, out, 0, rowStart.length - 1);
+        ForkJoinPool.commonPool().invoke(root);
+        return root.range();
+    }
+
+    /**
+     * First matrix index covered by each of n pixels starting at `start` with `scale`
+     * cells per pixel, plus the end of the last one; -1 for pixels before the matrix
+     * and `cells` for pixels after it.
+     */
+    static int[] boundaries(double start, double scale, int n, int cells) {
+        int[] bounds = new int[n + 1];
+        for (int p = 0; p <= n; p++) {
+            double pos = Math.floor(start + p * scale);
+            bounds[p] = pos < 0 ? -1 : (int) Math.min(cells, pos);
+        }
+        return bounds;
+    }
+
+    private static void colorize(double[] values, int[] rowStart, int[] colStart, Matrix m,
+                                 double min, double max, int[] argb) {
+        int w = colStart.length - 1, h = rowStart.length - 1;
+        double span = max > min ? max - min : 1;
+        for (int py = 0; py < h; py++) {
+            boolean rowInside = rowStart[py] >= 0 && rowStart[py] < m.rows;
+            for (int px = 0; px < w; px++) {
+                int i = py * w + px;
+                double v = values[i];
+                if (!rowInside || colStart[px] < 0 || colStart[px] >= m.cols) {
+                    argb[i] = BACKGROUND;
+                } else if (!Double.isFinite(v)) {
+                    argb[i] = NON_FINITE;
+                } else {
+                    int index = (int) ((v - min) / span * (PALETTE.length - 1) + 0.5);
+                    argb[i] = PALETTE[Math.max(0, Math.min(PALETTE.length - 1, index))];
+                }
+            }
+        }
+    }
+
+    /**
+     * 256-entry blue - teal - green - yellow ramp, dark for low values.
+     */
+    private static int[] buildPalette() {
+        Color[] stops = {
+            Color.web("#440154"), Color.web("#3b528b"), Color.web("#21918c"),
+            Color.web("#5ec962"), Color.web("#fde725")
+        };
+        int[] palette = new int[256];
+        for (int i = 0; i < palette.length; i++) {
+            double t = i / 255.0 * (stops.length - 1);
+            int s = Math.min(stops.length - 2, (int) t);
+            Color c = stops[s].interpolate(stops[s + 1], t - s);
+            palette[i] = 0xFF000000 | ((int) Math.round(c.getRed() * 255) << 16)
+                       | ((int) Math.round(c.getGreen() * 255) << 8) | (int) Math.round(c.getBlue() * 255);
+        }
+        return palette;
+    }
+
+    /**
+     * RecursiveAction that pools pixel rows [start, end). Each leaf walks the matrix
+     * rows of its band once, front to back, updating one accumulator per pixel column.
+     */
+    private static class PoolTask extends RecursiveAction {
+        private final Matrix m;
+        private final Pooling pooling;
+        private final int[] rowStart, colStart;
+        private final double[] out;
+        private final int start, end;
+        private double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+
+        PoolTask(Matrix m, Pooling pooling, int[] rowStart, int[] colStart, double[] out, int start, int end) {
+            this.m = m;
+            this.pooling = pooling;
+            this.rowStart = rowStart;
+            this.colStart = colStart;
+            this.out = out;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= THRESHOLD) {
+                leaf();
+                return;
+            }
+            int mid = (start + end) / 2;
+            PoolTask left = new PoolTask(m, pooling, rowStart, colStart, out, start, mid);
+            PoolTask right = new PoolTask(m, pooling, rowStart, colStart, out, mid, end);
+            invokeAll(left, right);
+            min = Math.min(left.min, right.min);
+            max = Math.max(left.max, right.max);
+        }
+
+        double[] range() {
+            return min <= max ? new double[] { min, max } : new double[] { 0, 0 };
+        }
+
+        private void leaf() {
+            int w = colStart.length - 1;
+            double[] acc = new double[w];
+            for (int py = start; py < end; py++) {
+                int r0 = rowStart[py], r1 = Math.max(rowStart[py + 1], r0 + 1);
+                if (r0 < 0 || r0 >= m.rows) {
+                    continue;
+                }
+                r1 = Math.min(r1, m.rows);
+                Arrays.fill(acc, pooling == Pooling.MIN ? Double.POSITIVE_INFINITY
+                                         : pooling == Pooling.MAX ? Double.NEGATIVE_INFINITY : 0);
+                for (int r = r0; r < r1; r++) {
+                    accumulate(m.data[r], acc);
+                }
+                long rows = r1 - r0;
+                for (int px = 0; px < w; px++) {
+                    int c0 = colStart[px];
+                    if (c0 < 0 || c0 >= m.cols) continue;
+                    double v = acc[px];
+                    if (pooling == Pooling.MEAN) {
+                        int c1 = Math.min(m.cols, Math.max(colStart[px + 1], c0 + 1));
+                        v /= rows * (c1 - c0);
+                    }
+                    if (Double.isFinite(v)) {
+                        min = Math.min(min, v);
+                        max = Math.max(max, v);
+                    }
+                    out[py * w + px] = v;
+                }
+            }
+        }
+
+        private void accumulate(double[] row, double[] acc) {
+            for (int px = 0; px < acc.length; px++) {
+                int c0 = colStart[px];
+                if (c0 < 0 || c0 >= m.cols) continue;
+                int c1 = Math.min(m.cols, Math.max(colStart[px + 1], c0 + 1));
+                double a = acc[px];
+                switch (pooling) {
+                    // Plain comparisons are cheaper than Math.min/max; the v != v test
+                    // keeps a NaN cell, and once a is NaN both tests stay false
+                    case MIN:
+                        for (int c = c0; c < c1; c++) {
+                            double v = row[c];
+                            if (v < a || v != v) a = v;
+                        }
+                        break;
+                    case MAX:
+                        for (int c = c0; c < c1; c++) {
+                            double v = row[c];
+                            if (v > a || v != v) a = v;
+                        }
+                        break;
+                    default:
+                        for (int c = c0; c < c1; c++) a += row[c];
+                }
+                acc[px] = a;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the two ceilings of a roofline on the current machine: sustainable memory
+ * bandwidth (a STREAM-style triad) and peak floating-point throughput.
+ *
+ * The peak probe runs independent multiply-add chains in plain scalar Java, the same
+ * kind of code the multipliers compile to, so it is the peak those kernels can reach
+ * rather than the vector-unit peak of the CPU (which is higher by the SIMD width).
+ */
+public final class MachineProbe {
+
+    // 64 MB per array, far beyond any last-level cache
+    private static final int STREAM_LENGTH = 1 << 23;
+    private static final int REPEATS = 5;
+    private static final long FLOP_ITERATIONS = 20_000_000L;
+    private static final long DEFAULT_CACHE_BYTES = 8L << 20;
+
+    // Keeps the probe results observable so the JIT cannot drop the loops
+    private static volatile double sink;
+
+    private MachineProbe() {
+    }
+
+    /**
+     * Best-of-REPEATS bandwidth in GB/s of a[i] = b[i] + s * c[i] over three 64 MB
+     * arrays, counting 24 bytes per element as STREAM does.
+     */
+    public static double streamTriadGBs(int threads) {
+        double[] a = new double[STREAM_LENGTH];
+        double[] b = new double[STREAM_LENGTH];
+        double[] c = new double[STREAM_LENGTH];
+        int chunks = threads * 4;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // Touch the pages from the pool so they are mapped before timing
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                for (int i = chunkStart(chunk, chunks); i < chunkStart(chunk + 1, chunks); i++) {
+                    a[i] = 0;
+                    b[i] = 1;
+                    c[i] = 2;
+                }
+            })).join();
+
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < REPEATS; r++) {
+                double s = 3.0 + r;
+                long start = System.nanoTime();
+                pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                    for (int i = chunkStart(chunk, chunks); i < chunkStart(chunk + 1, chunks); i++) {
+                        a[i] = b[i] + s * c[i];
+                    }
+                })).join();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            sink = a[STREAM_LENGTH / 2];
+            return 24.0 * STREAM_LENGTH / best;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Best-of-REPEATS GFLOPS with one scalar multiply-add loop per thread. Each loop
+     * keeps 12 independent chains in flight to hide the add and multiply latency.
+     */
+    public static double peakGflops(int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < REPEATS; r++) {
+                long start = System.nanoTime();
+                List<Future<Double>> workers = new ArrayList<>(threads);
+                for (int t = 0; t < threads; t++) {
+                    double seed = 1.0 + t * 1e-3;
+                    workers.add(pool.submit(() -> multiplyAddChains(seed, FLOP_ITERATIONS)));
+                }
+                double sum = 0;
+                for (Future<Double> worker : workers) {
+                    sum += worker.get();
+                }
+                best = Math.min(best, System.nanoTime() - start);
+                sink = sum;
+            }
+            return 24.0 * FLOP_ITERATIONS * threads / best;
+        } catch (Exception e) {
+            throw new IllegalStateException("Peak FLOPS probe failed", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Size of the highest cache level of cpu0 as reported by Linux sysfs, or 8 MB when
+     * it cannot be read.
+     */
+    public static long lastLevelCacheBytes() {
+        Path caches = Path.of("/sys/devices/system/cpu/cpu0/cache");
+        int bestLevel = -1;
+        long bestSize = DEFAULT_CACHE_BYTES;
+        for (int index = 0; Files.isDirectory(caches.resolve("index" + index)); index++) {
+            try {
+                Path dir = caches.resolve("index" + index);
+                int level = Integer.parseInt(Files.readString(dir.resolve("level")).trim());
+                String size = Files.readString(dir.resolve("size")).trim();
+                long bytes = size.endsWith("K") ? Long.parseLong(size.substring(0, size.length() - 1)) << 10
+                           : size.endsWith("M") ? Long.parseLong(size.substring(0, size.length() - 1)) << 20
+                           : Long.parseLong(size);
+                if (level > bestLevel) {
+                    bestLevel = level;
+                    bestSize = bytes;
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Keep what was found so far
+            }
+        }
+        return bestSize;
+    }
+
+    private static int chunkStart(int chunk, int chunks) {
+        return (int) ((long) STREAM_LENGTH * chunk / chunks);
+    }
+
+    /**
+     * 12 chains of x = x * m + a per iteration, 24 flops.
+     */
+    private static double multiplyAddChains(double seed, long iterations) {
+        final double m = 0.999999, a = 1e-7;
+        double x0 = seed, x1 = seed + 1e-4, x2 = seed + 2e-4, x3 = seed + 3e-4;
+        double x4 = seed + 4e-4, x5 = seed + 5e-4, x6 = seed + 6e-4, x7 = seed + 7e-4;
+        double x8 = seed + 8e-4, x9 = seed + 9e-4, x10 = seed + 1e-3, x11 = seed + 1.1e-3;
+        for (long it = 0; it < iterations; it++) {
+            x0 = x0 * m + a; x1 = x1 * m + a; x2 = x2 * m + a; x3 = x3 * m + a;
+            x4 = x4 * m + a; x5 = x5 * m + a; x6 = x6 * m + a; x7 = x7 * m + a;
+            x8 = x8 * m + a; x9 = x9 * m + a; x10 = x10 * m + a; x11 = x11 * m + a;
+        }
+        return x0 + x1 + x2 + x3 + x4 + x5 + x6 + x7 + x8 + x9 + x10 + x11;
+    }
+}
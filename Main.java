@@ -80,6 +80,16 @@ public class Main extends Application {
         }
         
         System.out.println("All implementations produce consistent results: " + (match ? "YES" : "NO"));
+        
+        // Large sizes: Freivalds' O(n^2) check instead of an O(n^3) reference multiply
+        int n = 1000;
+        System.out.println("Testing with " + n + "x" + n + " matrices (Freivalds check)...");
+        Matrix A = Matrix.random(n, n);
+        Matrix B = Matrix.random(n, n);
+        FreivaldsVerifier verifier = new FreivaldsVerifier();
+        boolean rowOk = verifier.verify(A, B, new ForkJoinRowMultiplier(64).multiply(A, B));
+        boolean blockOk = verifier.verify(A, B, new ForkJoinBlockMultiplier(64).multiply(A, B));
+        System.out.println(n + "x" + n + " test: " + (rowOk && blockOk ? "PASSED" : "FAILED"));
     }
     
     private static boolean matricesEqual(Matrix A, Matrix B) {
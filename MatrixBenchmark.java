@@ -1,13 +1,49 @@
 import matrix.Matrix;
+import matrix.Transpose;
 import algorithms.*;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 
 public class MatrixBenchmark {
     
+    // Fixed warmup of the transpose and semiring comparisons; multipliers use WARMUP
     private static final int WARMUP_RUNS = 2;
     private static final int BENCHMARK_RUNS = 5;
+    private static final WarmupController WARMUP = new WarmupController();
+    private static final FreivaldsVerifier VERIFIER = new FreivaldsVerifier();
+    
+    // Set in the default mode; every timed configuration is appended to it
+    private static BenchmarkHistory history;
     
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("transpose")) {
+            runTransposeBenchmark(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("semiring")) {
+            runSemiringBenchmark(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("roofline")) {
+            runRooflineBenchmark(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("scaling")) {
+            runScalingBenchmark(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("compare")) {
+            runCompare(args);
+            return;
+        }
+        
         System.out.println("=== Matrix Multiplication Benchmark ===\n");
+        history = BenchmarkHistory.open();
         
         // Matrix sizes to test
         int[] sizes = {256, 512, 1024};
@@ -18,67 +54,503 @@ public class MatrixBenchmark {
             System.out.println("Testing with " + size + "x" + size + " matrices:");
             System.out.println("----------------------------------------");
             
-            // Create multipliers
-            MatrixMultiplier sequential = new SequentialMultiplier();
-            MatrixMultiplier forkJoinRow = new ForkJoinRowMultiplier(threshold);
-            MatrixMultiplier forkJoinBlock = new ForkJoinBlockMultiplier(threshold);
+            // Create multipliers; Sequential comes first and is the speedup baseline
+            List<String> names = Multipliers.names();
+            MatrixMultiplier[] multipliers = new MatrixMultiplier[names.size()];
+            for (int m = 0; m < multipliers.length; m++) {
+                multipliers[m] = Multipliers.create(names.get(m), threshold);
+            }
             
             // Generate test matrices
             Matrix A = Matrix.random(size, size);
             Matrix B = Matrix.random(size, size);
             
-            // Warmup runs
-            System.out.println("Warming up...");
-            for (int i = 0; i < WARMUP_RUNS; i++) {
-                sequential.multiply(A, B);
-                forkJoinRow.multiply(A, B);
-                forkJoinBlock.multiply(A, B);
+            // Correctness gate: an O(n^2) Freivalds check instead of a reference multiply
+            for (int m = 0; m < multipliers.length; m++) {
+                verify(A, B, multipliers[m], names.get(m));
             }
             
-            // Benchmark Sequential
-            double seqTime = benchmark(sequential, A, B, "Sequential");
-            
-            // Benchmark Fork/Join Row-based
-            double rowTime = benchmark(forkJoinRow, A, B, "Fork/Join Row-based");
-            
-            // Benchmark Fork/Join Block-based
-            double blockTime = benchmark(forkJoinBlock, A, B, "Fork/Join Block-based");
+            WarmupController.Result[] results = new WarmupController.Result[multipliers.length];
+            double[] times = new double[multipliers.length];
+            for (int m = 0; m < multipliers.length; m++) {
+                results[m] = benchmark(multipliers[m], A, B, names.get(m), threshold);
+                times[m] = results[m].meanMs();
+            }
             
-            // Calculate speedups
-            double rowSpeedup = seqTime / rowTime;
-            double blockSpeedup = seqTime / blockTime;
+            // Task-level metrics of the last run (only with -Dmatrix.metrics=true)
+            for (MatrixMultiplier multiplier : multipliers) {
+                printMetrics(multiplier);
+            }
             
             System.out.println("\nResults Summary:");
-            System.out.printf("  Sequential:        %.2f ms\n", seqTime);
-            System.out.printf("  Fork/Join Row:     %.2f ms (Speedup: %.2fx)\n", rowTime, rowSpeedup);
-            System.out.printf("  Fork/Join Block:   %.2f ms (Speedup: %.2fx)\n", blockTime, blockSpeedup);
+            System.out.printf("  %-22s %.2f ms\n", names.get(0) + ":", times[0]);
+            for (int m = 1; m < multipliers.length; m++) {
+                System.out.printf("  %-22s %.2f ms (Speedup: %.2fx)\n", names.get(m) + ":", times[m], times[0] / times[m]);
+            }
+            
+            // Heap allocation per multiply, relative to the n x n result every engine must allocate
+            double outputBytes = 8.0 * size * size;
+            System.out.printf("\nAllocation per multiply (result matrix is %.2f MB):\n", outputBytes / 1e6);
+            for (int m = 0; m < multipliers.length; m++) {
+                long bytes = results[m].meanAllocatedBytes();
+                System.out.printf("  %-22s %s, %d GCs (%d ms) in %d runs\n", names.get(m) + ":",
+                    bytes < 0 ? "n/a" : String.format("%8.2f MB (%.2fx result)", bytes / 1e6, bytes / outputBytes),
+                    results[m].gcCount(), results[m].gcTimeMs(), BENCHMARK_RUNS);
+            }
             System.out.println();
         }
         
         // Test with different thresholds
         System.out.println("\n=== Threshold Sensitivity Analysis ===");
         testThresholdSensitivity(512);
+        
+        System.out.println("\nResults appended to " + BenchmarkHistory.historyFile() + " as run " + history.getRunId());
+    }
+    
+    /**
+     * Warms the multiplier up to steady state, times BENCHMARK_RUNS iterations on the
+     * same inputs and prints the per-iteration report.
+     */
+    private static WarmupController.Result benchmark(MatrixMultiplier multiplier, Matrix A, Matrix B, String name, int threshold) {
+        WarmupController.Result result = WARMUP.run(() -> multiplier.multiply(A, B), BENCHMARK_RUNS);
+        System.out.print(result.report(name));
+        if (history != null) {
+            history.record("console", name, A.rows, Multipliers.usesThreshold(name) ? threshold : 0, result.samplesMs());
+        }
+        return result;
     }
     
-    private static double benchmark(MatrixMultiplier multiplier, Matrix A, Matrix B, String name) {
-        long totalTime = 0;
+    /**
+     * Compares two sets of runs from the benchmark history and exits with status 1 if
+     * any configuration got significantly slower.
+     * Usage: java MatrixBenchmark compare [baseline [candidate]]
+     *        (run id, git revision, "latest", "previous" or "latest~N"; default previous latest)
+     */
+    private static void runCompare(String[] args) {
+        String baseline = args.length > 1 ? args[1] : "previous";
+        String candidate = args.length > 2 ? args[2] : "latest";
+        try {
+            if (BenchmarkHistory.compare(baseline, candidate) > 0) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read benchmark history", e);
+        }
+    }
+    
+    /**
+     * Checks one result of the multiplier with Freivalds' algorithm and aborts the
+     * benchmark if it is wrong; timing a broken implementation is meaningless.
+     */
+    private static void verify(Matrix A, Matrix B, MatrixMultiplier multiplier, String name) {
+        if (!VERIFIER.verify(A, B, multiplier.multiply(A, B))) {
+            throw new IllegalStateException(name + " produced a wrong result for " +
+                A.rows + "x" + A.cols + " * " + B.rows + "x" + B.cols);
+        }
+        System.out.println("Verified " + name + " (Freivalds, " + VERIFIER.getRounds() + " rounds)");
+    }
+    
+    /**
+     * Compares the naive transpose loop with the cache-oblivious parallel versions.
+     * Usage: java MatrixBenchmark transpose [size ...]   (default 1024 2048 4096)
+     */
+    private static void runTransposeBenchmark(String[] args) {
+        System.out.println("=== Transpose Benchmark ===\n");
+        int[] sizes = {1024, 2048, 4096};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
         
-        for (int i = 0; i < BENCHMARK_RUNS; i++) {
-            // Generate fresh matrices for each run
-            Matrix testA = Matrix.random(A.rows, A.cols);
-            Matrix testB = Matrix.random(B.rows, B.cols);
+        System.out.println("     Size |   Naive (ms) | Recursive (ms) | In-place (ms) | Col-major (ms) | Speedup");
+        System.out.println("----------|--------------|----------------|---------------|----------------|--------");
+        for (int size : sizes) {
+            Matrix m = Matrix.random(size, size);
+            
+            // Warmup: let the JIT compile all variants before timing
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                Transpose.transposeNaive(m);
+                Transpose.transpose(m);
+                Transpose.transposeInPlace(m);
+                Transpose.toColumnMajor(m);
+            }
+            
+            long naive = 0, recursive = 0, inPlace = 0, columnMajor = 0;
+            for (int i = 0; i < BENCHMARK_RUNS; i++) {
+                long start = System.nanoTime();
+                Transpose.transposeNaive(m);
+                long t1 = System.nanoTime();
+                Transpose.transpose(m);
+                long t2 = System.nanoTime();
+                Transpose.transposeInPlace(m);
+                long t3 = System.nanoTime();
+                Transpose.toColumnMajor(m);
+                long t4 = System.nanoTime();
+                naive += t1 - start;
+                recursive += t2 - t1;
+                inPlace += t3 - t2;
+                columnMajor += t4 - t3;
+            }
+            double naiveMs = naive / (BENCHMARK_RUNS * 1_000_000.0);
+            double recursiveMs = recursive / (BENCHMARK_RUNS * 1_000_000.0);
+            System.out.printf("%9d | %12.2f | %14.2f | %13.2f | %14.2f | %6.2fx\n",
+                size, naiveMs, recursiveMs,
+                inPlace / (BENCHMARK_RUNS * 1_000_000.0),
+                columnMajor / (BENCHMARK_RUNS * 1_000_000.0),
+                naiveMs / recursiveMs);
+        }
+    }
+    
+    /**
+     * Compares SemiringMultiplier over each StandardSemiring with the (+, x) GEMM path of
+     * ForkJoinBlockMultiplier, both with 64x64-cell leaf blocks.
+     * Usage: java MatrixBenchmark semiring [size ...]   (default 256 512 1024)
+     */
+    private static void runSemiringBenchmark(String[] args) {
+        System.out.println("=== Semiring Benchmark ===\n");
+        int[] sizes = {256, 512, 1024};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+        int threshold = 64 * 64;
+        StandardSemiring[] semirings = StandardSemiring.values();
+        
+        System.out.print("     Size |  Block GEMM (ms)");
+        for (StandardSemiring s : semirings) {
+            System.out.printf(" | %15s", s + " (ms)");
+        }
+        System.out.println();
+        
+        for (int size : sizes) {
+            Matrix A = Matrix.random(size, size);
+            Matrix B = Matrix.random(size, size);
+            Matrix C = new Matrix(size, size);
+            ForkJoinBlockMultiplier block = new ForkJoinBlockMultiplier(threshold);
+            
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                block.gemm(1.0, A, B, 0.0, C);
+                for (StandardSemiring s : semirings) {
+                    new SemiringMultiplier(s, threshold).multiply(A, B);
+                }
+            }
             
             long start = System.nanoTime();
-            multiplier.multiply(testA, testB);
-            long end = System.nanoTime();
+            for (int i = 0; i < BENCHMARK_RUNS; i++) {
+                block.gemm(1.0, A, B, 0.0, C);
+            }
+            System.out.printf("%9d | %16.2f", size, (System.nanoTime() - start) / (BENCHMARK_RUNS * 1_000_000.0));
             
-            totalTime += (end - start);
+            for (StandardSemiring s : semirings) {
+                SemiringMultiplier multiplier = new SemiringMultiplier(s, threshold);
+                start = System.nanoTime();
+                for (int i = 0; i < BENCHMARK_RUNS; i++) {
+                    multiplier.multiply(A, B);
+                }
+                System.out.printf(" | %15.2f", (System.nanoTime() - start) / (BENCHMARK_RUNS * 1_000_000.0));
+            }
+            System.out.println();
+        }
+    }
+    
+    /**
+     * Places every multiplier on a roofline measured on this machine: achieved GFLOPS
+     * against min(peak, intensity * bandwidth), where the arithmetic intensity comes from
+     * an estimate of the bytes each kernel moves to and from memory.
+     * Usage: java MatrixBenchmark roofline [size ...]   (default 512 1024)
+     */
+    private static void runRooflineBenchmark(String[] args) {
+        System.out.println("=== Roofline Benchmark ===\n");
+        int[] sizes = {512, 1024};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+        int threshold = 64;
+        int threads = Runtime.getRuntime().availableProcessors();
+        
+        double bandwidth = MachineProbe.streamTriadGBs(threads);
+        double peak = MachineProbe.peakGflops(threads);
+        long cache = MachineProbe.lastLevelCacheBytes();
+        System.out.printf("Threads:                    %d\n", threads);
+        System.out.printf("Memory bandwidth (triad):   %.2f GB/s\n", bandwidth);
+        System.out.printf("Peak scalar multiply-add:   %.2f GFLOPS\n", peak);
+        System.out.printf("Ridge point:                %.2f flop/byte\n", peak / bandwidth);
+        System.out.printf("Last-level cache:           %d KB\n\n", cache >> 10);
+        
+        List<String> names = Multipliers.names();
+        System.out.println("     Size | Algorithm              |   Time (ms) |  GFLOPS |  Est. MB | Flop/byte | Roof GFLOPS | % of roof | Bound");
+        System.out.println("----------|------------------------|-------------|---------|----------|-----------|-------------|-----------|--------");
+        for (int size : sizes) {
+            Matrix A = Matrix.random(size, size);
+            Matrix B = Matrix.random(size, size);
+            for (String name : names) {
+                MatrixMultiplier multiplier = Multipliers.create(name, threshold);
+                double seconds = WARMUP.run(() -> multiplier.multiply(A, B), BENCHMARK_RUNS).meanMs() / 1000;
+                
+                double flops = 2.0 * size * size * size;
+                double bytes = estimatedBytes(name, size, threshold, cache);
+                double intensity = flops / bytes;
+                double gflops = flops / seconds / 1e9;
+                double roof = Math.min(peak, intensity * bandwidth);
+                System.out.printf("%9d | %-22s | %11.2f | %7.2f | %8.1f | %9.2f | %11.2f | %8.1f%% | %s\n",
+                    size, name, seconds * 1000, gflops, bytes / 1e6, intensity, roof,
+                    100 * gflops / roof, intensity < peak / bandwidth ? "memory" : "compute");
+            }
+        }
+    }
+    
+    /**
+     * Estimated bytes moved between memory and the last-level cache by one n x n multiply.
+     *
+     * Every engine ends in i-j-k dot-product leaves, so the model is per leaf panel (see
+     * panelBytes) plus the traffic of the partial matrices the Fork/Join engines allocate
+     * and combine. When A, B and C fit in the cache together only the compulsory
+     * 3 * n^2 doubles are counted.
+     */
+    private static double estimatedBytes(String algorithm, int n, int threshold, long cacheBytes) {
+        double square = 8.0 * n * n;
+        if (3 * square <= cacheBytes) {
+            return 3 * square;
+        }
+        // Both Fork/Join engines halve one dimension down to the threshold
+        int levels = Math.max(0, (int) Math.ceil(Math.log((double) n / threshold) / Math.log(2)));
+        int leaves = 1 << levels;
+        switch (algorithm) {
+            case Multipliers.FORK_JOIN_ROW:
+                // Row strips over all of B; every level copies its halves into a new matrix
+                return leaves * panelBytes(Math.max(1, n / leaves), n, n, cacheBytes) + levels * 2 * square;
+            case Multipliers.FORK_JOIN_BLOCK:
+                // The k dimension is split first: n x n rank-(n/leaves) updates summed pairwise
+                return leaves * panelBytes(n, n, Math.max(1, n / leaves), cacheBytes) + (leaves - 1) * 3 * square;
+            case Multipliers.VIRTUAL_THREADS:
+                int tilesPerSide = (n + threshold - 1) / threshold;
+                return (double) tilesPerSide * tilesPerSide * panelBytes(Math.min(n, threshold), Math.min(n, threshold), n, cacheBytes);
+            default:
+                return panelBytes(n, n, n, cacheBytes);
+        }
+    }
+    
+    /**
+     * Bytes for an h x w block of C computed as dot products of depth k with i-j-k loops.
+     * The k x w panel of B is read once if it fits in the cache; otherwise each row of C
+     * walks it again, and a cache line of B still serves 8 neighbouring columns as long
+     * as the k lines of one column walk stay resident.
+     */
+    private static double panelBytes(int h, int w, int k, long cacheBytes) {
+        double panelB = 8.0 * k * w;
+        double b = panelB <= cacheBytes ? panelB
+                 : 64.0 * k <= cacheBytes ? (double) h * k * w
+                 : 8.0 * h * k * w;
+        return b + 8.0 * h * k + 8.0 * h * w;
+    }
+    
+    /**
+     * Strong and weak scaling of the parallel engines over thread counts, each count on a
+     * dedicated pool of exactly that parallelism.
+     *
+     * Strong scaling keeps n fixed; weak scaling grows n with p^(1/3) so the work per
+     * thread stays constant. Speedup is relative to the same engine with one thread (for
+     * weak scaling it is scaled by the extra work), efficiency is speedup / p.
+     *
+     * Usage: java MatrixBenchmark scaling [--size n] [--threads 1,2,4 | --max-threads N]
+     *            [--mode strong|weak|both] [--algorithms name,name] [--threshold t]
+     *            [--runs r] [--format csv|json] [--output file]
+     */
+    private static void runScalingBenchmark(String[] args) {
+        int size = 1024;
+        int threshold = 64;
+        int runs = BENCHMARK_RUNS;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        int[] threads = null;
+        String mode = "both";
+        String format = "csv";
+        String output = null;
+        List<String> algorithms = new ArrayList<>();
+        for (String name : Multipliers.names()) {
+            if (Multipliers.supportsPool(name)) algorithms.add(name);
         }
         
-        double avgTimeMs = (totalTime / BENCHMARK_RUNS) / 1_000_000.0;
-        System.out.printf("%s: %.2f ms (avg over %d runs)\n", name, avgTimeMs, BENCHMARK_RUNS);
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--size": size = Integer.parseInt(value); break;
+                case "--threshold": threshold = Integer.parseInt(value); break;
+                case "--runs": runs = Integer.parseInt(value); break;
+                case "--max-threads": maxThreads = Integer.parseInt(value); break;
+                case "--threads": threads = Arrays.stream(value.split(",")).mapToInt(t -> Integer.parseInt(t.trim())).toArray(); break;
+                case "--mode": mode = value; break;
+                case "--format": format = value; break;
+                case "--output": output = value; break;
+                case "--algorithms":
+                    algorithms = new ArrayList<>();
+                    for (String name : value.split(",")) {
+                        name = name.trim();
+                        if (!Multipliers.supportsPool(name)) {
+                            throw new IllegalArgumentException("Cannot bound the thread count of: " + name);
+                        }
+                        algorithms.add(name);
+                    }
+                    break;
+                default: throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        if (!mode.equals("strong") && !mode.equals("weak") && !mode.equals("both")) {
+            throw new IllegalArgumentException("Mode must be strong, weak or both: " + mode);
+        }
+        if (!format.equals("csv") && !format.equals("json")) {
+            throw new IllegalArgumentException("Format must be csv or json: " + format);
+        }
+        if (threads == null) {
+            threads = defaultThreadCounts(maxThreads);
+        }
+        if (threads.length == 0 || threads[0] != 1) {
+            throw new IllegalArgumentException("Thread counts must start at 1 (the speedup baseline)");
+        }
         
-        return avgTimeMs;
+        // Progress goes to stderr so stdout stays machine-readable
+        System.err.println("=== Scaling Benchmark === n=" + size + ", threads=" + Arrays.toString(threads) + ", " + algorithms);
+        List<ScalingResult> results = new ArrayList<>();
+        if (!mode.equals("weak")) {
+            for (String algorithm : algorithms) {
+                measureScaling("strong", algorithm, size, threads, threshold, runs, results);
+            }
+        }
+        if (!mode.equals("strong")) {
+            for (String algorithm : algorithms) {
+                measureScaling("weak", algorithm, size, threads, threshold, runs, results);
+            }
+        }
+        
+        if (output == null) {
+            writeScalingResults(results, format, System.out);
+        } else {
+            try (PrintStream out = new PrintStream(output, "UTF-8")) {
+                writeScalingResults(results, format, out);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write " + output, e);
+            }
+            System.err.println("Wrote " + results.size() + " results to " + output);
+        }
+    }
+    
+    /**
+     * Powers of two up to maxThreads, plus maxThreads itself.
+     */
+    private static int[] defaultThreadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int p = 1; p < maxThreads; p *= 2) {
+            counts.add(p);
+        }
+        counts.add(Math.max(1, maxThreads));
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    private static void measureScaling(String mode, String algorithm, int baseSize, int[] threads,
+                                       int threshold, int runs, List<ScalingResult> results) {
+        double baseTime = 0;
+        for (int p : threads) {
+            int n = mode.equals("weak") ? (int) Math.round(baseSize * Math.cbrt(p)) : baseSize;
+            Matrix A = Matrix.random(n, n);
+            Matrix B = Matrix.random(n, n);
+            
+            ForkJoinPool pool = new ForkJoinPool(p);
+            MatrixMultiplier multiplier = Multipliers.create(algorithm, threshold, pool);
+            try {
+                if (!VERIFIER.verify(A, B, multiplier.multiply(A, B))) {
+                    throw new IllegalStateException(algorithm + " produced a wrong result with " + p + " threads");
+                }
+                WarmupController.Result measured = WARMUP.run(() -> multiplier.multiply(A, B), runs);
+                if (!measured.steady) {
+                    System.err.println("  " + algorithm + " p=" + p + ": warmup " + measured.warmupSummary);
+                }
+                double timeMs = measured.meanMs();
+                if (p == 1) {
+                    baseTime = timeMs;
+                }
+                // Weak scaling does (n_p / n_1)^3 times the work of the one-thread run
+                double work = Math.pow((double) n / baseSize, 3);
+                double speedup = work * baseTime / timeMs;
+                double gflops = 2.0 * n * n * n / (timeMs * 1e6);
+                ScalingResult result = new ScalingResult(mode, algorithm, p, n, timeMs, speedup, speedup / p, gflops);
+                results.add(result);
+                System.err.printf("  %-6s %-22s p=%-3d n=%-5d %10.2f ms  speedup %5.2fx  efficiency %5.1f%%  %6.2f GFLOPS\n",
+                    mode, algorithm, p, n, timeMs, speedup, 100 * result.efficiency, gflops);
+            } finally {
+                if (multiplier instanceof ThreadPoolRowMultiplier) {
+                    ((ThreadPoolRowMultiplier) multiplier).shutdown();
+                }
+                pool.shutdown();
+            }
+        }
+    }
+    
+    private static void writeScalingResults(List<ScalingResult> results, String format, PrintStream out) {
+        if (format.equals("json")) {
+            out.println("[");
+            for (int i = 0; i < results.size(); i++) {
+                ScalingResult r = results.get(i);
+                out.printf(Locale.ROOT,
+                    "  {\"mode\": \"%s\", \"algorithm\": \"%s\", \"threads\": %d, \"size\": %d, " +
+                    "\"timeMs\": %.3f, \"speedup\": %.3f, \"efficiency\": %.3f, \"gflops\": %.3f}%s\n",
+                    r.mode, r.algorithm, r.threads, r.size, r.timeMs, r.speedup, r.efficiency, r.gflops,
+                    i + 1 < results.size() ? "," : "");
+            }
+            out.println("]");
+        } else {
+            out.println("mode,algorithm,threads,size,time_ms,speedup,efficiency,gflops");
+            for (ScalingResult r : results) {
+                out.printf(Locale.ROOT, "%s,%s,%d,%d,%.3f,%.3f,%.3f,%.3f\n",
+                    r.mode, r.algorithm, r.threads, r.size, r.timeMs, r.speedup, r.efficiency, r.gflops);
+            }
+        }
+        out.flush();
+    }
+    
+    /**
+     * One (mode, algorithm, thread count) measurement of the scaling benchmark.
+     */
+    private static class ScalingResult {
+        final String mode;
+        final String algorithm;
+        final int threads;
+        final int size;
+        final double timeMs;
+        final double speedup;
+        final double efficiency;
+        final double gflops;
+        
+        ScalingResult(String mode, String algorithm, int threads, int size,
+                      double timeMs, double speedup, double efficiency, double gflops) {
+            this.mode = mode;
+            this.algorithm = algorithm;
+            this.threads = threads;
+            this.size = size;
+            this.timeMs = timeMs;
+            this.speedup = speedup;
+            this.efficiency = efficiency;
+            this.gflops = gflops;
+        }
+    }
+    
+    private static void printMetrics(MatrixMultiplier multiplier) {
+        if (!TaskMetrics.ENABLED || !(multiplier instanceof InstrumentedMultiplier)) {
+            return;
+        }
+        TaskMetrics.Snapshot metrics = ((InstrumentedMultiplier) multiplier).getLastMetrics();
+        if (metrics != null) {
+            System.out.println(metrics);
+        }
     }
     
     private static void testThresholdSensitivity(int matrixSize) {
@@ -89,7 +561,7 @@ public class MatrixBenchmark {
         Matrix B = Matrix.random(matrixSize, matrixSize);
         
         MatrixMultiplier sequential = new SequentialMultiplier();
-        double seqTime = benchmark(sequential, A, B, "Sequential (baseline)");
+        double seqTime = benchmark(sequential, A, B, Multipliers.SEQUENTIAL, 0).meanMs();
         
         System.out.println("\nThreshold | Row-based Time | Block-based Time | Row Speedup | Block Speedup");
         System.out.println("----------|----------------|------------------|-------------|---------------");
@@ -98,8 +570,8 @@ public class MatrixBenchmark {
             MatrixMultiplier row = new ForkJoinRowMultiplier(threshold);
             MatrixMultiplier block = new ForkJoinBlockMultiplier(threshold);
             
-            double rowTime = benchmark(row, A, B, "");
-            double blockTime = benchmark(block, A, B, "");
+            double rowTime = benchmark(row, A, B, Multipliers.FORK_JOIN_ROW, threshold).meanMs();
+            double blockTime = benchmark(block, A, B, Multipliers.FORK_JOIN_BLOCK, threshold).meanMs();
             
             double rowSpeedup = seqTime / rowTime;
             double blockSpeedup = seqTime / blockTime;
@@ -16,11 +16,23 @@ import javafx.scene.chart.XYChart;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.stage.FileChooser;
 
 import matrix.Matrix;
 import algorithms.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
 
 // Data model for benchmark results table
 class BenchmarkResult {
@@ -30,14 +42,25 @@ class BenchmarkResult {
     private final SimpleIntegerProperty runs;
     private final SimpleDoubleProperty timeMs;
     private final SimpleDoubleProperty speedup;
+    private final SimpleLongProperty allocatedBytes;  // per multiply, -1 if not measured
+    private final SimpleLongProperty gcCount;
+    private final SimpleLongProperty gcTimeMs;
 
     public BenchmarkResult(String algorithm, int matrixSize, int threshold, int runs, double timeMs, double speedup) {
+        this(algorithm, matrixSize, threshold, runs, timeMs, speedup, -1, 0, 0);
+    }
+
+    public BenchmarkResult(String algorithm, int matrixSize, int threshold, int runs, double timeMs, double speedup,
+                           long allocatedBytes, long gcCount, long gcTimeMs) {
         this.algorithm = new SimpleStringProperty(algorithm);
         this.matrixSize = new SimpleIntegerProperty(matrixSize);
         this.threshold = new SimpleIntegerProperty(threshold);
         this.runs = new SimpleIntegerProperty(runs);
         this.timeMs = new SimpleDoubleProperty(timeMs);
         this.speedup = new SimpleDoubleProperty(speedup);
+        this.allocatedBytes = new SimpleLongProperty(allocatedBytes);
+        this.gcCount = new SimpleLongProperty(gcCount);
+        this.gcTimeMs = new SimpleLongProperty(gcTimeMs);
     }
 
     // Getters for properties
@@ -47,6 +70,9 @@ class BenchmarkResult {
     public int getRuns() { return runs.get(); }
     public double getTimeMs() { return timeMs.get(); }
     public double getSpeedup() { return speedup.get(); }
+    public long getAllocatedBytes() { return allocatedBytes.get(); }
+    public long getGcCount() { return gcCount.get(); }
+    public long getGcTimeMs() { return gcTimeMs.get(); }
 
     // Property getters for TableView
     public SimpleStringProperty algorithmProperty() { return algorithm; }
@@ -55,6 +81,8 @@ class BenchmarkResult {
     public SimpleIntegerProperty runsProperty() { return runs; }
     public SimpleDoubleProperty timeMsProperty() { return timeMs; }
     public SimpleDoubleProperty speedupProperty() { return speedup; }
+    public SimpleLongProperty allocatedBytesProperty() { return allocatedBytes; }
+    public SimpleLongProperty gcCountProperty() { return gcCount; }
 }
 
 public class MatrixGUI {
@@ -65,11 +93,15 @@ public class MatrixGUI {
     // Matrix Input Tab Components
     private TextField matrixARowsField, matrixAColsField;
     private TextField matrixBRowsField, matrixBColsField;
-    private GridPane matrixAGrid, matrixBGrid, resultGrid;
-    private ScrollPane matrixAScroll, matrixBScroll, resultScroll;
+    private MatrixView matrixAView, matrixBView, resultView;
     private ComboBox<String> algorithmComboBox;
     private TextField thresholdField;
     private Button createMatricesBtn, generateRandomBtn, multiplyBtn, clearMatricesBtn;
+    private HBox multiplyProgressRow;
+    private ProgressBar multiplyProgressBar;
+    private Label multiplyStatusLabel;
+    private Button cancelMultiplyBtn;
+    private MultiplyProgress runningMultiply;  // null when no multiply is running
     private Label matrixALabel, matrixBLabel, resultLabel;
     private TextArea summaryArea;
 
@@ -85,11 +117,20 @@ public class MatrixGUI {
     private BarChart<String, Number> speedupChart;
     private ProgressBar progressBar;
     private Label statusLabel;
+    private TextArea iterationLogArea;
     private Button runBtn, clearBtn, benchmarkBtn;
 
-    // Current matrices
+    // Heatmap Tab Components
+    private Tab heatmapTab;
+    private HeatmapView heatmapView;
+    private ComboBox<String> heatmapSourceBox;
+    private ComboBox<HeatmapView.Pooling> heatmapPoolingBox;
+
+    // Every benchmark run from the GUI is appended here as well
+    private final BenchmarkHistory history = BenchmarkHistory.open();
+
+    // Current matrices; the views edit matrixA and matrixB in place
     private Matrix matrixA, matrixB, resultMatrix;
-    private TextField[][] matrixACells, matrixBCells, resultCells;
 
     public MatrixGUI() {
         buildUI();
@@ -122,7 +163,13 @@ public class MatrixGUI {
         benchmarkTab.setClosable(false);
         benchmarkTab.setContent(createBenchmarkTab());
 
-        tabPane.getTabs().addAll(matrixTab, benchmarkTab);
+        // Heatmap Tab
+        heatmapTab = new Tab("Heatmap");
+        heatmapTab.setClosable(false);
+        heatmapTab.setContent(createHeatmapTab());
+        heatmapTab.selectedProperty().addListener((obs, wasSelected, selected) -> updateHeatmap());
+
+        tabPane.getTabs().addAll(matrixTab, benchmarkTab, heatmapTab);
 
         root.getChildren().addAll(title, tabPane);
     }
@@ -139,13 +186,15 @@ public class MatrixGUI {
 
         // Control Buttons
         HBox controlButtons = createMatrixControlButtons();
+        multiplyProgressRow = createMultiplyProgressRow();
 
         // Note: Summary section removed from here as it is now inside matricesSection
 
         mainContainer.getChildren().addAll(
                 configSection,
                 matricesSection,
-                controlButtons
+                controlButtons,
+                multiplyProgressRow
         );
 
         ScrollPane scroll = new ScrollPane(mainContainer);
@@ -194,11 +243,7 @@ public class MatrixGUI {
         Label algoLabel = new Label("Algorithm:");
         algoLabel.setMinWidth(150);
         algorithmComboBox = new ComboBox<>();
-        algorithmComboBox.getItems().addAll(
-                "Sequential",
-                "ForkJoin Row-based",
-                "ForkJoin Block-based"
-        );
+        algorithmComboBox.getItems().addAll(Multipliers.names());
         algorithmComboBox.getSelectionModel().select(0);
         algorithmComboBox.setPrefWidth(200);
 
@@ -209,12 +254,12 @@ public class MatrixGUI {
         thresholdField.setPrefWidth(60);
         HBox thresholdBox = new HBox(10, thresholdLabel, thresholdField);
 
-        // Disable threshold when Sequential is selected
+        // Disable threshold for algorithms that do not use it (e.g. Sequential)
         algorithmComboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
-            boolean disable = "Sequential".equals(newVal);
+            boolean disable = !Multipliers.usesThreshold(newVal);
             thresholdField.setDisable(disable);
         });
-        thresholdField.setDisable("Sequential".equals(algorithmComboBox.getValue()));
+        thresholdField.setDisable(!Multipliers.usesThreshold(algorithmComboBox.getValue()));
 
         algoBox.getChildren().addAll(algoLabel, algorithmComboBox, thresholdBox);
 
@@ -236,40 +281,29 @@ public class MatrixGUI {
         VBox matrixAContainer = new VBox(5);
         matrixALabel = new Label("Matrix A");
         matrixALabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        matrixAGrid = new GridPane();
-        matrixAGrid.setHgap(5);
-        matrixAGrid.setVgap(5);
-        matrixAGrid.setPadding(new Insets(5));
-        matrixAScroll = new ScrollPane(matrixAGrid);
-        matrixAScroll.setPrefSize(250, 300);
-        matrixAScroll.setStyle("-fx-background-color: white; -fx-border-color: #ddd;");
-        matrixAContainer.getChildren().addAll(matrixALabel, matrixAScroll);
+        matrixAView = new MatrixView(true);
+        matrixAView.setPrefSize(250, 300);
+        matrixAView.setStyle("-fx-background-color: white; -fx-border-color: #ddd;");
+        matrixAContainer.getChildren().addAll(matrixALabel, matrixAView);
 
         // Matrix B
         VBox matrixBContainer = new VBox(5);
         matrixBLabel = new Label("Matrix B");
         matrixBLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        matrixBGrid = new GridPane();
-        matrixBGrid.setHgap(5);
-        matrixBGrid.setVgap(5);
-        matrixBGrid.setPadding(new Insets(5));
-        matrixBScroll = new ScrollPane(matrixBGrid);
-        matrixBScroll.setPrefSize(250, 300);
-        matrixBScroll.setStyle("-fx-background-color: white; -fx-border-color: #ddd;");
-        matrixBContainer.getChildren().addAll(matrixBLabel, matrixBScroll);
+        matrixBView = new MatrixView(true);
+        matrixBView.setPrefSize(250, 300);
+        matrixBView.setStyle("-fx-background-color: white; -fx-border-color: #ddd;");
+        matrixBContainer.getChildren().addAll(matrixBLabel, matrixBView);
 
         // Result Matrix
         VBox resultContainer = new VBox(5);
         resultLabel = new Label("Result Matrix (A × B)");
         resultLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        resultGrid = new GridPane();
-        resultGrid.setHgap(5);
-        resultGrid.setVgap(5);
-        resultGrid.setPadding(new Insets(5));
-        resultScroll = new ScrollPane(resultGrid);
-        resultScroll.setPrefSize(250, 300);
-        resultScroll.setStyle("-fx-background-color: #e8f5e9; -fx-border-color: #4caf50;");
-        resultContainer.getChildren().addAll(resultLabel, resultScroll);
+        resultView = new MatrixView(false);
+        resultView.setPrefSize(250, 300);
+        resultView.setCellColor(Color.web("#e8f5e9"));
+        resultView.setStyle("-fx-border-color: #4caf50;");
+        resultContainer.getChildren().addAll(resultLabel, resultView);
 
         // Summary Section (Added here to be beside Result Matrix)
         VBox summaryContainer = createSummarySection();
@@ -308,6 +342,29 @@ public class MatrixGUI {
         return buttonBox;
     }
 
+    private HBox createMultiplyProgressRow() {
+        HBox row = new HBox(10);
+        row.setAlignment(Pos.CENTER);
+
+        multiplyProgressBar = new ProgressBar(0);
+        multiplyProgressBar.setPrefWidth(400);
+        multiplyStatusLabel = new Label();
+        cancelMultiplyBtn = new Button("Cancel");
+        cancelMultiplyBtn.setStyle("-fx-background-color: #f44336; -fx-text-fill: white;");
+        cancelMultiplyBtn.setOnAction(e -> {
+            if (runningMultiply != null) {
+                runningMultiply.cancel();
+                cancelMultiplyBtn.setDisable(true);
+                multiplyStatusLabel.setText("Cancelling...");
+            }
+        });
+
+        row.getChildren().addAll(multiplyProgressBar, multiplyStatusLabel, cancelMultiplyBtn);
+        row.setVisible(false);
+        row.managedProperty().bind(row.visibleProperty());
+        return row;
+    }
+
     private VBox createSummarySection() {
         VBox section = new VBox(5);
 
@@ -343,36 +400,18 @@ public class MatrixGUI {
                 return;
             }
 
-            // Create Matrix A grid
-            matrixAGrid.getChildren().clear();
-            matrixACells = new TextField[rowsA][colsA];
-            for (int i = 0; i < rowsA; i++) {
-                for (int j = 0; j < colsA; j++) {
-                    TextField cell = new TextField("0");
-                    cell.setPrefWidth(50);
-                    cell.setPrefHeight(30);
-                    matrixACells[i][j] = cell;
-                    matrixAGrid.add(cell, j, i);
-                }
-            }
+            // The views draw straight from the matrices, so no per-cell nodes are created
+            matrixA = new Matrix(rowsA, colsA);
+            matrixAView.setMatrix(matrixA);
             matrixALabel.setText("Matrix A (" + rowsA + "×" + colsA + ")");
 
-            // Create Matrix B grid
-            matrixBGrid.getChildren().clear();
-            matrixBCells = new TextField[rowsB][colsB];
-            for (int i = 0; i < rowsB; i++) {
-                for (int j = 0; j < colsB; j++) {
-                    TextField cell = new TextField("0");
-                    cell.setPrefWidth(50);
-                    cell.setPrefHeight(30);
-                    matrixBCells[i][j] = cell;
-                    matrixBGrid.add(cell, j, i);
-                }
-            }
+            matrixB = new Matrix(rowsB, colsB);
+            matrixBView.setMatrix(matrixB);
             matrixBLabel.setText("Matrix B (" + rowsB + "×" + colsB + ")");
 
-            // Clear result grid
-            resultGrid.getChildren().clear();
+            // Clear result
+            resultMatrix = null;
+            resultView.setMatrix(null);
             resultLabel.setText("Result Matrix (A × B)");
             summaryArea.clear();
 
@@ -399,7 +438,8 @@ public class MatrixGUI {
             }
 
             // Create grids first if not created
-            if (matrixACells == null || matrixACells.length != rowsA || matrixACells[0].length != colsA) {
+            if (matrixA == null || matrixA.rows != rowsA || matrixA.cols != colsA
+                    || matrixB.rows != rowsB || matrixB.cols != colsB) {
                 createMatrixGrids();
             }
 
@@ -407,7 +447,7 @@ public class MatrixGUI {
             for (int i = 0; i < rowsA; i++) {
                 for (int j = 0; j < colsA; j++) {
                     double value = Math.round((Math.random() * 10) * 100.0) / 100.0;
-                    matrixACells[i][j].setText(String.valueOf(value));
+                    matrixA.data[i][j] = value;
                 }
             }
 
@@ -415,123 +455,224 @@ public class MatrixGUI {
             for (int i = 0; i < rowsB; i++) {
                 for (int j = 0; j < colsB; j++) {
                     double value = Math.round((Math.random() * 10) * 100.0) / 100.0;
-                    matrixBCells[i][j].setText(String.valueOf(value));
+                    matrixB.data[i][j] = value;
                 }
             }
+            matrixAView.refresh();
+            matrixBView.refresh();
 
         } catch (NumberFormatException e) {
             showError("Please enter valid numbers for matrix dimensions.");
         }
     }
 
+    /**
+     * Multiplies on a background thread. The Fork/Join engines write straight into the
+     * result shown in the view and report each finished leaf, which drives the progress
+     * bar, repaints the rows that became final and lets Cancel stop the remaining
+     * tasks. The other algorithms only show indeterminate progress and cannot be
+     * cancelled.
+     */
     private void multiplyMatrices() {
+        if (matrixA == null || matrixB == null) {
+            showError("Please create matrix grids first.");
+            return;
+        }
+        String algorithm = algorithmComboBox.getValue();
+        int threshold;
+        MatrixMultiplier multiplier;
         try {
-            if (matrixACells == null || matrixBCells == null) {
-                showError("Please create matrix grids first.");
-                return;
-            }
+            threshold = Integer.parseInt(thresholdField.getText());
+            multiplier = Multipliers.create(algorithm, threshold);
+        } catch (NumberFormatException e) {
+            showError("Please enter valid numbers. Error: " + e.getMessage());
+            return;
+        }
 
-            int rowsA = matrixACells.length;
-            int colsA = matrixACells[0].length;
-            int rowsB = matrixBCells.length;
-            int colsB = matrixBCells[0].length;
+        Matrix A = matrixA, B = matrixB;
+        boolean progressive = multiplier instanceof ProgressiveMultiplier;
+        Matrix C = progressive ? new Matrix(A.rows, B.cols) : null;
+        // The Fork/Join engines run their GEMM kernels here, not what the benchmark tab times
+        String engine = progressive ? ((ProgressiveMultiplier) multiplier).getProgressiveAlgorithm() : algorithm;
+        MultiplyProgress progress = new MultiplyProgress(A.rows, B.cols);
+        runningMultiply = progress;
+        setMultiplyRunning(true, progressive);
 
-            // Read Matrix A
-            matrixA = new Matrix(rowsA, colsA);
-            for (int i = 0; i < rowsA; i++) {
-                for (int j = 0; j < colsA; j++) {
-                    try {
-                        matrixA.data[i][j] = Double.parseDouble(matrixACells[i][j].getText());
-                    } catch (NumberFormatException e) {
-                        showError("Invalid number in Matrix A at position (" + (i+1) + "," + (j+1) + ")");
-                        return;
-                    }
-                }
-            }
+        resultMatrix = null;
+        summaryArea.clear();
+        if (progressive) {
+            resultView.setMatrix(C);
+            resultView.setRowReady(progress::isRowReady);
+        } else {
+            resultView.setMatrix(null);
+        }
+        resultLabel.setText("Result Matrix (computing...)");
 
-            // Read Matrix B
-            matrixB = new Matrix(rowsB, colsB);
-            for (int i = 0; i < rowsB; i++) {
-                for (int j = 0; j < colsB; j++) {
-                    try {
-                        matrixB.data[i][j] = Double.parseDouble(matrixBCells[i][j].getText());
-                    } catch (NumberFormatException e) {
-                        showError("Invalid number in Matrix B at position (" + (i+1) + "," + (j+1) + ")");
-                        return;
+        Task<Void> task = new Task<Void>() {
+            @Override
+            protected Void call() throws Exception {
+                try {
+                    long startTime = System.nanoTime();
+                    Matrix result;
+                    if (progressive) {
+                        ((ProgressiveMultiplier) multiplier).multiply(A, B, C, progress);
+                        result = C;
+                    } else {
+                        result = multiplier.multiply(A, B);
                     }
+                    double executionTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                    Platform.runLater(() -> {
+                        setMultiplyRunning(false, progressive);
+                        resultMatrix = result;
+                        displayResultMatrix();
+                        showMultiplySummary(algorithm, engine, threshold, executionTime,
+                                            progressive ? progress.leaves() : -1);
+                    });
+                } catch (CancellationException e) {
+                    Platform.runLater(() -> {
+                        setMultiplyRunning(false, progressive);
+                        resultView.refresh();
+                        resultLabel.setText(String.format("Result Matrix (cancelled, %.0f%% computed)",
+                                100 * progress.fraction()));
+                    });
+                } catch (Exception e) {
+                    Platform.runLater(() -> {
+                        setMultiplyRunning(false, progressive);
+                        resultView.setMatrix(null);
+                        resultLabel.setText("Result Matrix (A × B)");
+                        showError("Error during multiplication: " + e.getMessage());
+                    });
+                    e.printStackTrace();
                 }
+                return null;
             }
+        };
 
-            // Get algorithm
-            String algorithm = algorithmComboBox.getValue();
-            int threshold = Integer.parseInt(thresholdField.getText());
+        new Thread(task).start();
+    }
 
-            MatrixMultiplier multiplier;
-            switch (algorithm) {
-                case "ForkJoin Row-based" -> multiplier = new ForkJoinRowMultiplier(threshold);
-                case "ForkJoin Block-based" -> multiplier = new ForkJoinBlockMultiplier(threshold);
-                default -> multiplier = new SequentialMultiplier();
-            }
+    private void setMultiplyRunning(boolean running, boolean cancellable) {
+        if (!running) runningMultiply = null;
+        multiplyBtn.setDisable(running);
+        createMatricesBtn.setDisable(running);
+        generateRandomBtn.setDisable(running);
+        clearMatricesBtn.setDisable(running);
+        // A and B are read by the workers, so no edits until the multiply is done
+        matrixAView.setEditable(!running);
+        matrixBView.setEditable(!running);
+        multiplyProgressRow.setVisible(running);
+        multiplyProgressBar.setProgress(cancellable ? 0 : ProgressBar.INDETERMINATE_PROGRESS);
+        multiplyStatusLabel.setText(cancellable ? "" : "Computing...");
+        cancelMultiplyBtn.setDisable(!cancellable);
+    }
 
-            // Perform multiplication
-            long startTime = System.nanoTime();
-            resultMatrix = multiplier.multiply(matrixA, matrixB);
-            long endTime = System.nanoTime();
-            double executionTime = (endTime - startTime) / 1_000_000.0; // Convert to milliseconds
+    /**
+     * Called on the FX thread, at most once per pulse, while leaves complete.
+     */
+    private void showMultiplyProgress(MultiplyProgress progress) {
+        if (progress != runningMultiply) return;
+        double fraction = progress.fraction();
+        multiplyProgressBar.setProgress(fraction);
+        if (!progress.isCancelled()) {
+            multiplyStatusLabel.setText(String.format("%d leaves done, %.0f%%", progress.leaves(), 100 * fraction));
+        }
+        resultView.refresh();
+    }
 
-            // Display result matrix
-            displayResultMatrix();
+    private void showMultiplySummary(String algorithm, String engine, int threshold, double executionTime,
+                                     int leaves) {
+        summaryArea.clear();
+        summaryArea.appendText("=== Multiplication Summary ===\n");
+        summaryArea.appendText("Algorithm: " + engine + "\n");
+        if (!engine.equals(algorithm)) {
+            summaryArea.appendText("(selected " + algorithm + "; timing not comparable with the benchmark tab)\n");
+        }
+        summaryArea.appendText("Matrix A: " + matrixA.rows + "×" + matrixA.cols + "\n");
+        summaryArea.appendText("Matrix B: " + matrixB.rows + "×" + matrixB.cols + "\n");
+        summaryArea.appendText("Result: " + resultMatrix.rows + "×" + resultMatrix.cols + "\n");
+        summaryArea.appendText(String.format("Execution Time: %.4f ms\n", executionTime));
+        if (threshold > 0 && Multipliers.usesThreshold(algorithm)) {
+            summaryArea.appendText("Threshold: " + threshold + "\n");
+        }
+        if (leaves >= 0) {
+            summaryArea.appendText("GEMM leaf tasks: " + leaves + "\n");
+        }
+    }
 
-            // Update summary
-            int resultRows = resultMatrix.rows;
-            int resultCols = resultMatrix.cols;
-            summaryArea.clear();
-            summaryArea.appendText("=== Multiplication Summary ===\n");
-            summaryArea.appendText("Algorithm: " + algorithm + "\n");
-            summaryArea.appendText("Matrix A: " + rowsA + "×" + colsA + "\n");
-            summaryArea.appendText("Matrix B: " + rowsB + "×" + colsB + "\n");
-            summaryArea.appendText("Result: " + resultRows + "×" + resultCols + "\n");
-            summaryArea.appendText(String.format("Execution Time: %.4f ms\n", executionTime));
-            if (threshold > 0 && algorithm!="Sequential") {
-                summaryArea.appendText("Threshold: " + threshold + "\n");
+    /**
+     * Leaf completions of one interactive multiply. Workers count finished cells per
+     * row, so a row is ready once all its columns are written (the block engine
+     * finishes a row in several leaves), and schedule at most one UI update at a time.
+     */
+    private class MultiplyProgress implements ProgressListener {
+        private final int cols;
+        private final long cells;
+        private final AtomicIntegerArray doneCols;
+        private final AtomicLong doneCells = new AtomicLong();
+        private final AtomicInteger leaves = new AtomicInteger();
+        private final AtomicBoolean updatePending = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        MultiplyProgress(int rows, int cols) {
+            this.cols = cols;
+            this.cells = (long) rows * cols;
+            this.doneCols = new AtomicIntegerArray(rows);
+        }
+
+        @Override
+        public void leafCompleted(int rowStart, int rowEnd, int colStart, int colEnd) {
+            for (int r = rowStart; r < rowEnd; r++) {
+                doneCols.addAndGet(r, colEnd - colStart);
+            }
+            doneCells.addAndGet((long) (rowEnd - rowStart) * (colEnd - colStart));
+            leaves.incrementAndGet();
+            if (updatePending.compareAndSet(false, true)) {
+                Platform.runLater(() -> {
+                    updatePending.set(false);
+                    showMultiplyProgress(this);
+                });
             }
+        }
 
-        } catch (NumberFormatException e) {
-            showError("Please enter valid numbers. Error: " + e.getMessage());
-        } catch (Exception e) {
-            showError("Error during multiplication: " + e.getMessage());
-            e.printStackTrace();
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isRowReady(int row) {
+            return doneCols.get(row) == cols;
+        }
+
+        double fraction() {
+            return cells == 0 ? 1 : (double) doneCells.get() / cells;
+        }
+
+        int leaves() {
+            return leaves.get();
         }
     }
 
     private void displayResultMatrix() {
         if (resultMatrix == null) return;
 
-        resultGrid.getChildren().clear();
-        resultCells = new TextField[resultMatrix.rows][resultMatrix.cols];
-
-        for (int i = 0; i < resultMatrix.rows; i++) {
-            for (int j = 0; j < resultMatrix.cols; j++) {
-                TextField cell = new TextField(String.format("%.2f", resultMatrix.data[i][j]));
-                cell.setPrefWidth(60);
-                cell.setPrefHeight(30);
-                cell.setEditable(false);
-                cell.setStyle("-fx-background-color: #c8e6c9;");
-                resultCells[i][j] = cell;
-                resultGrid.add(cell, j, i);
-            }
+        // A progressive multiply already shows this matrix; keep the scroll position
+        if (resultView.getMatrix() == resultMatrix) {
+            resultView.setRowReady(null);
+        } else {
+            resultView.setMatrix(resultMatrix);
         }
-
         resultLabel.setText("Result Matrix (" + resultMatrix.rows + "×" + resultMatrix.cols + ")");
     }
 
     private void clearAllMatrices() {
-        matrixAGrid.getChildren().clear();
-        matrixBGrid.getChildren().clear();
-        resultGrid.getChildren().clear();
-        matrixACells = null;
-        matrixBCells = null;
-        resultCells = null;
+        matrixAView.setMatrix(null);
+        matrixBView.setMatrix(null);
+        resultView.setMatrix(null);
         matrixA = null;
         matrixB = null;
         resultMatrix = null;
@@ -541,6 +682,54 @@ public class MatrixGUI {
         summaryArea.clear();
     }
 
+    private VBox createHeatmapTab() {
+        VBox container = new VBox(10);
+        container.setPadding(new Insets(15));
+
+        HBox controls = new HBox(10);
+        controls.setAlignment(Pos.CENTER_LEFT);
+        Label sourceLabel = new Label("Matrix:");
+        heatmapSourceBox = new ComboBox<>();
+        heatmapSourceBox.getItems().addAll("Result", "Matrix A", "Matrix B");
+        heatmapSourceBox.getSelectionModel().select(0);
+        heatmapSourceBox.valueProperty().addListener((obs, oldVal, newVal) -> updateHeatmap());
+
+        Label poolingLabel = new Label("Pooling:");
+        heatmapPoolingBox = new ComboBox<>();
+        heatmapPoolingBox.getItems().addAll(HeatmapView.Pooling.values());
+        heatmapPoolingBox.getSelectionModel().select(HeatmapView.Pooling.MEAN);
+        heatmapPoolingBox.valueProperty().addListener((obs, oldVal, newVal) -> heatmapView.setPooling(newVal));
+
+        Button fitBtn = new Button("Fit");
+        fitBtn.setOnAction(e -> heatmapView.fit());
+
+        Label hint = new Label("Wheel to zoom, drag to pan, double-click to fit");
+        hint.setTextFill(Color.GRAY);
+        controls.getChildren().addAll(sourceLabel, heatmapSourceBox, poolingLabel, heatmapPoolingBox, fitBtn, hint);
+
+        heatmapView = new HeatmapView();
+        heatmapView.setStyle("-fx-border-color: #ddd;");
+        VBox.setVgrow(heatmapView, Priority.ALWAYS);
+
+        container.getChildren().addAll(controls, heatmapView);
+        return container;
+    }
+
+    /**
+     * Points the heatmap at the selected matrix. Only done while the tab is showing,
+     * so edits and multiplies elsewhere do not pay for rendering.
+     */
+    private void updateHeatmap() {
+        if (!heatmapTab.isSelected()) return;
+        String source = heatmapSourceBox.getValue();
+        Matrix m = "Matrix A".equals(source) ? matrixA : "Matrix B".equals(source) ? matrixB : resultMatrix;
+        if (heatmapView.getMatrix() != m) {
+            heatmapView.setMatrix(m);
+        } else {
+            heatmapView.refresh();
+        }
+    }
+
     // Benchmark Tab (keeping existing functionality)
     private ScrollPane createBenchmarkTab() {
         VBox mainContainer = new VBox(12);
@@ -615,11 +804,7 @@ public class MatrixGUI {
         Label algoLabel = new Label("Algorithm:");
         algoLabel.setMinWidth(150);
         benchmarkAlgorithmBox = new ComboBox<>();
-        benchmarkAlgorithmBox.getItems().addAll(
-                "Sequential",
-                "ForkJoin Row-based",
-                "ForkJoin Block-based"
-        );
+        benchmarkAlgorithmBox.getItems().addAll(Multipliers.names());
         benchmarkAlgorithmBox.getSelectionModel().select(0);
         benchmarkAlgorithmBox.setPrefWidth(200);
         algorithmBox.getChildren().addAll(algoLabel, benchmarkAlgorithmBox);
@@ -747,6 +932,14 @@ public class MatrixGUI {
                         setStyle("-fx-background-color: #e3f2fd; -fx-font-weight: bold;");
                     } else if (item.contains("Block")) {
                         setStyle("-fx-background-color: #e8f5e9; -fx-font-weight: bold;");
+                    } else if (item.contains("ThreadPool")) {
+                        setStyle("-fx-background-color: #fff3e0; -fx-font-weight: bold;");
+                    } else if (item.contains("Stream")) {
+                        setStyle("-fx-background-color: #f3e5f5; -fx-font-weight: bold;");
+                    } else if (item.contains("Virtual")) {
+                        setStyle("-fx-background-color: #e0f7fa; -fx-font-weight: bold;");
+                    } else {
+                        setStyle("");
                     }
                 }
             }
@@ -884,7 +1077,52 @@ public class MatrixGUI {
             }
         });
 
-        benchmarkTable.getColumns().addAll(algorithmCol, sizeCol, thresholdCol, runsCol, timeCol, speedupCol);
+        // Allocation column: heap bytes per multiply, summed over the worker threads
+        TableColumn<BenchmarkResult, Long> allocCol = new TableColumn<>("Alloc / multiply");
+        allocCol.setCellValueFactory(cellData -> cellData.getValue().allocatedBytesProperty().asObject());
+        allocCol.setPrefWidth(130);
+        allocCol.setStyle("-fx-alignment: CENTER-RIGHT;");
+        allocCol.setCellFactory(column -> new TableCell<BenchmarkResult, Long>() {
+            @Override
+            protected void updateItem(Long item, boolean empty) {
+                super.updateItem(item, empty);
+                BenchmarkResult result = getTableRow() != null && getTableRow().getItem() != null ?
+                        getTableRow().getItem() : null;
+                if (empty || item == null || result == null || result.getAlgorithm().startsWith("---")) {
+                    setText(null);
+                    setStyle("");
+                } else if (item < 0) {
+                    setText("n/a");
+                    setStyle("");
+                } else {
+                    // Relative to the n x n result, which every multiplier has to allocate
+                    double output = 8.0 * result.getMatrixSize() * result.getMatrixSize();
+                    setText(String.format("%.2f MB (%.1fx)", item / 1e6, item / output));
+                    setStyle(item > 2 * output ? "-fx-text-fill: #c62828; -fx-font-weight: bold;" : "");
+                }
+            }
+        });
+
+        // GC column: collections and their total time during the measured runs
+        TableColumn<BenchmarkResult, Long> gcCol = new TableColumn<>("GC (count / ms)");
+        gcCol.setCellValueFactory(cellData -> cellData.getValue().gcCountProperty().asObject());
+        gcCol.setPrefWidth(110);
+        gcCol.setStyle("-fx-alignment: CENTER;");
+        gcCol.setCellFactory(column -> new TableCell<BenchmarkResult, Long>() {
+            @Override
+            protected void updateItem(Long item, boolean empty) {
+                super.updateItem(item, empty);
+                BenchmarkResult result = getTableRow() != null && getTableRow().getItem() != null ?
+                        getTableRow().getItem() : null;
+                if (empty || item == null || result == null || result.getAlgorithm().startsWith("---")) {
+                    setText(null);
+                } else {
+                    setText(item + " / " + result.getGcTimeMs());
+                }
+            }
+        });
+
+        benchmarkTable.getColumns().addAll(algorithmCol, sizeCol, thresholdCol, runsCol, timeCol, speedupCol, allocCol, gcCol);
 
         // Enable column reordering and resizing
         benchmarkTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
@@ -934,7 +1172,16 @@ public class MatrixGUI {
         HBox chartsBox = new HBox(15, performanceChart, speedupChart);
         chartsBox.setPadding(new Insets(10, 0, 0, 0));
 
-        section.getChildren().addAll(headerBox, benchmarkTable, chartsBox);
+        // Per-iteration timings of the last single test, with outlier / GC / JIT flags
+        Label iterationLabel = new Label("Iterations of last single test:");
+        iterationLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+        iterationLogArea = new TextArea();
+        iterationLogArea.setEditable(false);
+        iterationLogArea.setPrefHeight(160);
+        iterationLogArea.setFont(Font.font("Consolas", 12));
+        iterationLogArea.setStyle("-fx-background-color: white; -fx-border-color: #ddd; -fx-control-inner-background: #fff8e1;");
+
+        section.getChildren().addAll(headerBox, benchmarkTable, iterationLabel, iterationLogArea, chartsBox);
 
         return section;
     }
@@ -952,7 +1199,7 @@ public class MatrixGUI {
         speedSeries.setName("Speedup");
 
         int added = 0;
-        for (int i = benchmarkData.size() - 1; i >= 0 && added < 3; i--) {
+        for (int i = benchmarkData.size() - 1; i >= 0 && added < Multipliers.names().size(); i--) {
             BenchmarkResult br = benchmarkData.get(i);
             if (br.getAlgorithm().startsWith("---")) continue; // skip separators
             perfSeries.getData().add(new XYChart.Data<>(br.getAlgorithm(), br.getTimeMs()));
@@ -968,31 +1215,38 @@ public class MatrixGUI {
     private void exportToCSV() {
         // Simple CSV export functionality
         StringBuilder csv = new StringBuilder();
-        csv.append("Algorithm,Matrix Size,Threshold,Runs,Time (ms),Speedup\n");
+        csv.append("Algorithm,Matrix Size,Threshold,Runs,Time (ms),Speedup,Allocated Bytes,GC Count,GC Time (ms)\n");
 
         for (BenchmarkResult result : benchmarkData) {
-            csv.append(String.format("%s,%dx%d,%d,%d,%.2f,%.2f\n",
+            csv.append(String.format("%s,%dx%d,%d,%d,%.2f,%.2f,%d,%d,%d\n",
                     result.getAlgorithm(),
                     result.getMatrixSize(),
                     result.getMatrixSize(),
                     result.getThreshold(),
                     result.getRuns(),
                     result.getTimeMs(),
-                    result.getSpeedup() > 0 ? result.getSpeedup() : 0
+                    result.getSpeedup() > 0 ? result.getSpeedup() : 0,
+                    result.getAllocatedBytes(),
+                    result.getGcCount(),
+                    result.getGcTimeMs()
             ));
         }
 
-        // For now, just show in alert. Could be enhanced to save to file
-        TextArea csvArea = new TextArea(csv.toString());
-        csvArea.setEditable(false);
-        ScrollPane scrollPane = new ScrollPane(csvArea);
-        scrollPane.setPrefSize(600, 400);
-
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("CSV Export");
-        alert.setHeaderText("Benchmark Results (CSV Format)");
-        alert.getDialogPane().setContent(scrollPane);
-        alert.showAndWait();
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Benchmark Results");
+        chooser.setInitialFileName("benchmark-results.csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showSaveDialog(benchmarkTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.writeString(file.toPath(), csv.toString(), StandardCharsets.UTF_8);
+            statusLabel.setText("Exported " + benchmarkData.size() + " rows to " + file.getName() +
+                    "; all runs are also in " + BenchmarkHistory.historyFile());
+        } catch (IOException e) {
+            showError("Could not write " + file + ": " + e.getMessage());
+        }
     }
 
     private void runSingleBenchmark() {
@@ -1032,34 +1286,30 @@ public class MatrixGUI {
                     benchmarkBtn.setDisable(true);
                 });
 
-                MatrixMultiplier multiplier;
-                switch (algo) {
-                    case "ForkJoin Row-based" -> multiplier = new ForkJoinRowMultiplier(threshold);
-                    case "ForkJoin Block-based" -> multiplier = new ForkJoinBlockMultiplier(threshold);
-                    default -> multiplier = new SequentialMultiplier();
-                }
-
-                long totalTime = 0;
-                for (int i = 0; i < runs; i++) {
-                    Matrix A = Matrix.random(n, n);
-                    Matrix B = Matrix.random(n, n);
-
-                    long start = System.nanoTime();
-                    multiplier.multiply(A, B);
-                    long end = System.nanoTime();
-
-                    totalTime += (end - start);
-
-                    final int current = i + 1;
-                    Platform.runLater(() -> {
-                        progressBar.setProgress((double) current / runs);
-                    });
-                }
-
-                double avgTimeMs = (totalTime / runs) / 1_000_000.0;
+                MatrixMultiplier multiplier = Multipliers.create(algo, threshold);
+                Matrix A = Matrix.random(n, n);
+                Matrix B = Matrix.random(n, n);
+
+                // Warm up until steady state (length unknown up front), then time the runs
+                WarmupController.Result measured = new WarmupController().run(() -> multiplier.multiply(A, B), runs,
+                        (warmup, index, timeMs) -> Platform.runLater(() -> {
+                            if (warmup) {
+                                statusLabel.setText("Warming up " + algo + ": iteration " + index +
+                                        String.format(" (%.2f ms)", timeMs));
+                                progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+                            } else {
+                                statusLabel.setText("Measuring " + algo + ": run " + index + " of " + runs);
+                                progressBar.setProgress((double) index / runs);
+                            }
+                        }));
+
+                double avgTimeMs = measured.meanMs();
+                history.record("gui", algo, n, Multipliers.usesThreshold(algo) ? threshold : 0, measured.samplesMs());
 
                 Platform.runLater(() -> {
-                    BenchmarkResult result = new BenchmarkResult(algo, n, threshold, runs, avgTimeMs, 0.0);
+                    iterationLogArea.setText(measured.report(algo + " (" + n + "×" + n + ")"));
+                    BenchmarkResult result = new BenchmarkResult(algo, n, threshold, runs, avgTimeMs, 0.0,
+                            measured.meanAllocatedBytes(), measured.gcCount(), measured.gcTimeMs());
                     benchmarkData.add(result);
                     // Scroll to the newly added row
                     benchmarkTable.scrollTo(result);
@@ -1092,54 +1342,47 @@ public class MatrixGUI {
                     benchmarkBtn.setDisable(true);
                 });
 
-                MatrixMultiplier sequential = new SequentialMultiplier();
-                MatrixMultiplier forkJoinRow = new ForkJoinRowMultiplier(threshold);
-                MatrixMultiplier forkJoinBlock = new ForkJoinBlockMultiplier(threshold);
-
-                double[] times = new double[3];
-                String[] names = {"Sequential", "ForkJoin Row-based", "ForkJoin Block-based"};
-                MatrixMultiplier[] multipliers = {sequential, forkJoinRow, forkJoinBlock};
-
-                for (int alg = 0; alg < 3; alg++) {
-                    long totalTime = 0;
-                    for (int i = 0; i < runs; i++) {
-                        Matrix A = Matrix.random(n, n);
-                        Matrix B = Matrix.random(n, n);
-
-                        long start = System.nanoTime();
-                        multipliers[alg].multiply(A, B);
-                        long end = System.nanoTime();
-
-                        totalTime += (end - start);
-
-                        final int progress = (alg * runs + i + 1);
-                        Platform.runLater(() -> {
-                            progressBar.setProgress((double) progress / (3 * runs));
-                        });
-                    }
-                    times[alg] = (totalTime / runs) / 1_000_000.0;
+                List<String> names = Multipliers.names();
+                MatrixMultiplier[] multipliers = new MatrixMultiplier[names.size()];
+                for (int alg = 0; alg < multipliers.length; alg++) {
+                    multipliers[alg] = Multipliers.create(names.get(alg), threshold);
+                }
+                double[] times = new double[multipliers.length];
+                WarmupController.Result[] results = new WarmupController.Result[multipliers.length];
+                Matrix A = Matrix.random(n, n);
+                Matrix B = Matrix.random(n, n);
+
+                for (int alg = 0; alg < multipliers.length; alg++) {
+                    MatrixMultiplier multiplier = multipliers[alg];
+                    final int done = alg;
+                    results[alg] = new WarmupController().run(() -> multiplier.multiply(A, B), runs,
+                            (warmup, index, timeMs) -> {
+                                if (!warmup) {
+                                    Platform.runLater(() -> progressBar.setProgress(
+                                            (done + (double) index / runs) / multipliers.length));
+                                }
+                            });
+                    times[alg] = results[alg].meanMs();
+                    history.record("gui", names.get(alg), n, Multipliers.usesThreshold(names.get(alg)) ? threshold : 0,
+                            results[alg].samplesMs());
                 }
-
-                double seqTime = times[0];
-                double rowSpeedup = seqTime / times[1];
-                double blockSpeedup = seqTime / times[2];
 
                 Platform.runLater(() -> {
                     // Add separator row
                     BenchmarkResult sep1 = new BenchmarkResult("--- Comparison (" + n + "×" + n + ") ---", n, threshold, runs, 0, 0);
                     benchmarkData.add(sep1);
 
-                    // Add results
-                    BenchmarkResult seqResult = new BenchmarkResult("Sequential", n, threshold, runs, times[0], 0.0);
-                    BenchmarkResult rowResult = new BenchmarkResult("ForkJoin Row-based", n, threshold, runs, times[1], rowSpeedup);
-                    BenchmarkResult blockResult = new BenchmarkResult("ForkJoin Block-based", n, threshold, runs, times[2], blockSpeedup);
-
-                    benchmarkData.add(seqResult);
-                    benchmarkData.add(rowResult);
-                    benchmarkData.add(blockResult);
+                    // Add results; speedups are relative to Sequential (first entry)
+                    BenchmarkResult last = null;
+                    for (int alg = 0; alg < times.length; alg++) {
+                        double speedup = alg == 0 ? 0.0 : times[0] / times[alg];
+                        last = new BenchmarkResult(names.get(alg), n, threshold, runs, times[alg], speedup,
+                                results[alg].meanAllocatedBytes(), results[alg].gcCount(), results[alg].gcTimeMs());
+                        benchmarkData.add(last);
+                    }
 
                     // Scroll to the last added result
-                    benchmarkTable.scrollTo(blockResult);
+                    benchmarkTable.scrollTo(last);
 
                     statusLabel.setText("Comparison completed");
                     progressBar.setVisible(false);
@@ -1186,49 +1429,38 @@ public class MatrixGUI {
 
                 int[] sizes = {256, 512, 1024};
 
-                MatrixMultiplier sequential = new SequentialMultiplier();
-                MatrixMultiplier forkJoinRow = new ForkJoinRowMultiplier(threshold);
-                MatrixMultiplier forkJoinBlock = new ForkJoinBlockMultiplier(threshold);
+                List<String> names = Multipliers.names();
+                MatrixMultiplier[] multipliers = new MatrixMultiplier[names.size()];
+                for (int alg = 0; alg < multipliers.length; alg++) {
+                    multipliers[alg] = Multipliers.create(names.get(alg), threshold);
+                }
 
-                int totalTests = sizes.length * 3 * runs;
+                int totalTests = sizes.length * multipliers.length * runs;
                 int currentTest = 0;
 
                 for (int size : sizes) {
-                    double[] times = new double[3];
-                    MatrixMultiplier[] multipliers = {sequential, forkJoinRow, forkJoinBlock};
-
-                    for (int alg = 0; alg < 3; alg++) {
-                        long totalTime = 0;
-                        for (int i = 0; i < runs; i++) {
-                            Matrix A = Matrix.random(size, size);
-                            Matrix B = Matrix.random(size, size);
-
-                            long start = System.nanoTime();
-                            multipliers[alg].multiply(A, B);
-                            long end = System.nanoTime();
-
-                            totalTime += (end - start);
-                            currentTest++;
-
-                            final int progress = currentTest;
-                            Platform.runLater(() -> {
-                                progressBar.setProgress((double) progress / totalTests);
-                            });
-                        }
-                        times[alg] = (totalTime / runs) / 1_000_000.0;
+                    double[] times = new double[multipliers.length];
+                    WarmupController.Result[] results = new WarmupController.Result[multipliers.length];
+                    Matrix A = Matrix.random(size, size);
+                    Matrix B = Matrix.random(size, size);
+
+                    for (int alg = 0; alg < multipliers.length; alg++) {
+                        MatrixMultiplier multiplier = multipliers[alg];
+                        final int before = currentTest;
+                        results[alg] = new WarmupController().run(() -> multiplier.multiply(A, B), runs,
+                                (warmup, index, timeMs) -> {
+                                    if (!warmup) {
+                                        Platform.runLater(() -> progressBar.setProgress((double) (before + index) / totalTests));
+                                    }
+                                });
+                        currentTest += runs;
+                        times[alg] = results[alg].meanMs();
+                        history.record("gui", names.get(alg), size, Multipliers.usesThreshold(names.get(alg)) ? threshold : 0,
+                                results[alg].samplesMs());
                     }
 
-                    double seqTime = times[0];
-                    double rowSpeedup = seqTime / times[1];
-                    double blockSpeedup = seqTime / times[2];
-
                     // Create final variables for Platform.runLater
                     final int finalSize = size;
-                    final double seqTimeFinal = times[0];
-                    final double rowTimeFinal = times[1];
-                    final double blockTimeFinal = times[2];
-                    final double rowSpeedupFinal = rowSpeedup;
-                    final double blockSpeedupFinal = blockSpeedup;
                     final int finalThreshold = threshold;
                     final int finalRuns = runs;
 
@@ -1240,20 +1472,20 @@ public class MatrixGUI {
                                     finalSize, finalThreshold, finalRuns, 0, 0);
                             benchmarkData.add(sep);
 
-                            // Add results
-                            BenchmarkResult seqResult = new BenchmarkResult("Sequential", finalSize, finalThreshold, finalRuns, seqTimeFinal, 0.0);
-                            BenchmarkResult rowResult = new BenchmarkResult("ForkJoin Row-based", finalSize, finalThreshold, finalRuns, rowTimeFinal, rowSpeedupFinal);
-                            BenchmarkResult blockResult = new BenchmarkResult("ForkJoin Block-based", finalSize, finalThreshold, finalRuns, blockTimeFinal, blockSpeedupFinal);
-
-                            benchmarkData.add(seqResult);
-                            benchmarkData.add(rowResult);
-                            benchmarkData.add(blockResult);
+                            // Add results; speedups are relative to Sequential (first entry)
+                            BenchmarkResult last = null;
+                            for (int alg = 0; alg < times.length; alg++) {
+                                double speedup = alg == 0 ? 0.0 : times[0] / times[alg];
+                                last = new BenchmarkResult(names.get(alg), finalSize, finalThreshold, finalRuns, times[alg], speedup,
+                                        results[alg].meanAllocatedBytes(), results[alg].gcCount(), results[alg].gcTimeMs());
+                                benchmarkData.add(last);
+                            }
 
                             // Ensure table is visible and update
                             benchmarkTable.setVisible(true);
 
                             // Scroll to the last added result
-                            benchmarkTable.scrollTo(blockResult);
+                            benchmarkTable.scrollTo(last);
 
                             // Force table to refresh and show data
                             benchmarkTable.refresh();
@@ -0,0 +1,453 @@
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import matrix.Matrix;
+import java.util.function.IntPredicate;
+
+/**
+ * Virtualized spreadsheet view of a Matrix, drawn on a single Canvas.
+ *
+ * Only the cells inside the viewport are formatted and drawn, straight from
+ * Matrix.data, so the cost of a repaint depends on the window size and not on the
+ * matrix size: a 10000 x 10000 matrix scrolls as smoothly as a 3 x 3 one. The scroll
+ * bars count cells (fractional values give smooth pixel scrolling), which keeps
+ * positions exact however large the matrix is.
+ *
+ * Editable views edit in place with one shared TextField laid over the selected cell:
+ * double-click, Enter, F2 or simply typing a number starts editing; Enter commits and
+ * moves down, Tab moves right, Escape cancels. Committed values are written to the
+ * Matrix directly, so there is nothing to parse when the matrix is used.
+ *
+ * While a matrix is still being computed, {@link #setRowReady} marks the rows that are
+ * not final yet; they are drawn shaded and without values.
+ */
+public class MatrixView extends Region {
+
+    private static final double CELL_WIDTH = 64;
+    private static final double CELL_HEIGHT = 24;
+    private static final double HEADER_WIDTH = 44;
+    private static final double HEADER_HEIGHT = 22;
+    private static final double PADDING = 4;
+    private static final double DEFAULT_BAR_SIZE = 14;
+
+    private static final Font CELL_FONT = Font.font("Consolas", 12);
+    private static final Font HEADER_FONT = Font.font("Arial", 11);
+    private static final Color HEADER_COLOR = Color.web("#eeeeee");
+    private static final Color GRID_COLOR = Color.web("#dddddd");
+    private static final Color SELECTION_COLOR = Color.web("#bbdefb");
+    private static final Color PENDING_COLOR = Color.web("#e0e0e0");
+
+    private final Canvas canvas = new Canvas();
+    private final ScrollBar vbar = new ScrollBar();
+    private final ScrollBar hbar = new ScrollBar();
+    private final TextField editor = new TextField();
+
+    private Matrix matrix;
+    private IntPredicate rowReady;  // null when every row is final
+    private boolean editable;
+    private Color cellColor = Color.WHITE;
+    private int selectedRow = -1, selectedCol = -1;
+    private int editRow = -1, editCol = -1;
+
+    public MatrixView(boolean editable) {
+        this.editable = editable;
+        vbar.setOrientation(Orientation.VERTICAL);
+        hbar.setOrientation(Orientation.HORIZONTAL);
+        vbar.valueProperty().addListener((obs, oldVal, newVal) -> scrolled());
+        hbar.valueProperty().addListener((obs, oldVal, newVal) -> scrolled());
+
+        editor.setVisible(false);
+        editor.setManaged(false);
+        editor.setOnAction(e -> {
+            if (commitEdit()) moveSelection(1, 0);
+        });
+        editor.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.ESCAPE) {
+                cancelEdit();
+                e.consume();
+            } else if (e.getCode() == KeyCode.TAB) {
+                if (commitEdit()) moveSelection(0, e.isShiftDown() ? -1 : 1);
+                e.consume();
+            }
+        });
+        editor.focusedProperty().addListener((obs, wasFocused, focused) -> {
+            if (!focused) stopEditing();
+        });
+
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, this::mousePressed);
+        canvas.addEventHandler(ScrollEvent.SCROLL, this::wheelScrolled);
+        addEventHandler(KeyEvent.KEY_PRESSED, this::keyPressed);
+        addEventHandler(KeyEvent.KEY_TYPED, this::keyTyped);
+        setFocusTraversable(true);
+
+        getChildren().addAll(canvas, vbar, hbar, editor);
+    }
+
+    /**
+     * Shows the given matrix (or nothing for null) scrolled to the top-left corner.
+     */
+    public void setMatrix(Matrix matrix) {
+        cancelEdit();
+        this.matrix = matrix;
+        this.rowReady = null;
+        selectedRow = selectedCol = -1;
+        vbar.setValue(0);
+        hbar.setValue(0);
+        requestLayout();
+        draw();
+    }
+
+    public Matrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Rows for which the predicate is false are shown as pending; null shows all rows.
+     * The predicate is evaluated on every repaint, so call {@link #refresh} as rows
+     * become ready.
+     */
+    public void setRowReady(IntPredicate rowReady) {
+        this.rowReady = rowReady;
+        draw();
+    }
+
+    public void setEditable(boolean editable) {
+        if (!editable) cancelEdit();
+        this.editable = editable;
+    }
+
+    public void setCellColor(Color color) {
+        this.cellColor = color;
+        draw();
+    }
+
+    /**
+     * Repaints the visible cells, e.g. after Matrix.data was changed outside the view.
+     */
+    public void refresh() {
+        draw();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double x = snappedLeftInset(), y = snappedTopInset();
+        double w = getWidth() - x - snappedRightInset();
+        double h = getHeight() - y - snappedBottomInset();
+        double vw = barSize(vbar.prefWidth(-1));
+        double hh = barSize(hbar.prefHeight(-1));
+        double cw = Math.max(0, w - vw), ch = Math.max(0, h - hh);
+
+        canvas.setWidth(cw);
+        canvas.setHeight(ch);
+        canvas.relocate(x, y);
+        vbar.resizeRelocate(x + cw, y, vw, ch);
+        hbar.resizeRelocate(x, y + ch, cw, hh);
+
+        updateScrollRanges();
+        if (isEditing()) positionEditor();
+        draw();
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return 250;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return 300;
+    }
+
+    private static double barSize(double pref) {
+        return pref > 0 ? pref : DEFAULT_BAR_SIZE;
+    }
+
+    private double visibleRows() {
+        return Math.max(1, (canvas.getHeight() - HEADER_HEIGHT) / CELL_HEIGHT);
+    }
+
+    private double visibleCols() {
+        return Math.max(1, (canvas.getWidth() - HEADER_WIDTH) / CELL_WIDTH);
+    }
+
+    private void updateScrollRanges() {
+        int rows = matrix != null ? matrix.rows : 0;
+        int cols = matrix != null ? matrix.cols : 0;
+        configure(vbar, rows, visibleRows());
+        configure(hbar, cols, visibleCols());
+    }
+
+    private static void configure(ScrollBar bar, int cells, double visible) {
+        double max = Math.max(0, cells - visible);
+        bar.setMin(0);
+        bar.setMax(max);
+        bar.setVisibleAmount(Math.min(visible, Math.max(cells, 1)));
+        bar.setUnitIncrement(1);
+        bar.setBlockIncrement(Math.max(1, Math.floor(visible) - 1));
+        bar.setValue(Math.min(bar.getValue(), max));
+        bar.setDisable(max == 0);
+    }
+
+    private void scrolled() {
+        // The editor is pinned to a cell; committing is simpler than moving it along
+        stopEditing();
+        draw();
+    }
+
+    private void draw() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double w = canvas.getWidth(), h = canvas.getHeight();
+        g.setFill(cellColor);
+        g.fillRect(0, 0, w, h);
+        if (matrix == null || matrix.rows == 0 || matrix.cols == 0) {
+            return;
+        }
+
+        double top = vbar.getValue(), left = hbar.getValue();
+        int row0 = (int) top, col0 = (int) left;
+        double y0 = HEADER_HEIGHT - (top - row0) * CELL_HEIGHT;
+        double x0 = HEADER_WIDTH - (left - col0) * CELL_WIDTH;
+        int row1 = Math.min(matrix.rows, row0 + (int) Math.ceil((h - HEADER_HEIGHT) / CELL_HEIGHT) + 1);
+        int col1 = Math.min(matrix.cols, col0 + (int) Math.ceil((w - HEADER_WIDTH) / CELL_WIDTH) + 1);
+        double right = Math.min(w, x0 + (col1 - col0) * CELL_WIDTH);
+        double bottom = Math.min(h, y0 + (row1 - row0) * CELL_HEIGHT);
+
+        if (selectedRow >= row0 && selectedRow < row1 && selectedCol >= col0 && selectedCol < col1) {
+            g.setFill(SELECTION_COLOR);
+            g.fillRect(x0 + (selectedCol - col0) * CELL_WIDTH, y0 + (selectedRow - row0) * CELL_HEIGHT,
+                       CELL_WIDTH, CELL_HEIGHT);
+        }
+
+        if (rowReady != null) {
+            g.setFill(PENDING_COLOR);
+            for (int r = row0; r < row1; r++) {
+                if (!rowReady.test(r)) {
+                    g.fillRect(HEADER_WIDTH, y0 + (r - row0) * CELL_HEIGHT, right - HEADER_WIDTH, CELL_HEIGHT);
+                }
+            }
+        }
+
+        g.setStroke(GRID_COLOR);
+        g.setLineWidth(1);
+        for (int r = row0; r <= row1; r++) {
+            double y = Math.floor(y0 + (r - row0) * CELL_HEIGHT) + 0.5;
+            g.strokeLine(HEADER_WIDTH, y, right, y);
+        }
+        for (int c = col0; c <= col1; c++) {
+            double x = Math.floor(x0 + (c - col0) * CELL_WIDTH) + 0.5;
+            g.strokeLine(x, HEADER_HEIGHT, x, bottom);
+        }
+
+        // Values are formatted here, for the visible cells only
+        g.setFill(Color.BLACK);
+        g.setFont(CELL_FONT);
+        g.setTextAlign(TextAlignment.RIGHT);
+        g.setTextBaseline(VPos.CENTER);
+        for (int r = row0; r < row1; r++) {
+            if (rowReady != null && !rowReady.test(r)) continue;
+            double[] row = matrix.data[r];
+            double y = y0 + (r - row0 + 0.5) * CELL_HEIGHT;
+            for (int c = col0; c < col1; c++) {
+                double x = x0 + (c - col0 + 1) * CELL_WIDTH - PADDING;
+                g.fillText(format(row[c]), x, y, CELL_WIDTH - 2 * PADDING);
+            }
+        }
+
+        // Headers last, so they cover the partially scrolled-out cells
+        g.setFill(HEADER_COLOR);
+        g.fillRect(0, 0, w, HEADER_HEIGHT);
+        g.fillRect(0, 0, HEADER_WIDTH, h);
+        g.setFill(Color.DIMGRAY);
+        g.setFont(HEADER_FONT);
+        g.setTextAlign(TextAlignment.CENTER);
+        for (int c = col0; c < col1; c++) {
+            double x = x0 + (c - col0 + 0.5) * CELL_WIDTH;
+            if (x > HEADER_WIDTH) g.fillText(String.valueOf(c + 1), x, HEADER_HEIGHT / 2, CELL_WIDTH);
+        }
+        g.setTextAlign(TextAlignment.RIGHT);
+        for (int r = row0; r < row1; r++) {
+            double y = y0 + (r - row0 + 0.5) * CELL_HEIGHT;
+            if (y > HEADER_HEIGHT) g.fillText(String.valueOf(r + 1), HEADER_WIDTH - PADDING, y, HEADER_WIDTH - PADDING);
+        }
+        g.setFill(HEADER_COLOR.darker());
+        g.fillRect(0, 0, HEADER_WIDTH, HEADER_HEIGHT);
+    }
+
+    /**
+     * Two decimals like the rest of the GUI, scientific notation where that would hide
+     * the value.
+     */
+    static String format(double value) {
+        double magnitude = Math.abs(value);
+        if (value == 0 || (magnitude >= 1e-2 && magnitude < 1e7) || Double.isNaN(value)) {
+            return String.format("%.2f", value);
+        }
+        return String.format("%.3e", value);
+    }
+
+    private void mousePressed(MouseEvent e) {
+        requestFocus();
+        if (matrix == null || e.getButton() != MouseButton.PRIMARY
+                || e.getX() < HEADER_WIDTH || e.getY() < HEADER_HEIGHT) {
+            return;
+        }
+        int row = (int) Math.floor(vbar.getValue() + (e.getY() - HEADER_HEIGHT) / CELL_HEIGHT);
+        int col = (int) Math.floor(hbar.getValue() + (e.getX() - HEADER_WIDTH) / CELL_WIDTH);
+        if (row >= matrix.rows || col >= matrix.cols) {
+            return;
+        }
+        select(row, col);
+        if (e.getClickCount() == 2) startEdit(null);
+    }
+
+    private void wheelScrolled(ScrollEvent e) {
+        double dx = e.getDeltaX(), dy = e.getDeltaY();
+        if (e.isShiftDown() && dx == 0) {
+            dx = dy;
+            dy = 0;
+        }
+        vbar.setValue(clamp(vbar.getValue() - dy / CELL_HEIGHT, vbar.getMax()));
+        hbar.setValue(clamp(hbar.getValue() - dx / CELL_WIDTH, hbar.getMax()));
+        e.consume();
+    }
+
+    private void keyPressed(KeyEvent e) {
+        if (matrix == null || isEditing()) return;
+        int page = (int) Math.max(1, Math.floor(visibleRows()) - 1);
+        switch (e.getCode()) {
+            case UP: moveSelection(-1, 0); break;
+            case DOWN: moveSelection(1, 0); break;
+            case LEFT: moveSelection(0, -1); break;
+            case RIGHT: moveSelection(0, 1); break;
+            case TAB: moveSelection(0, e.isShiftDown() ? -1 : 1); break;
+            case PAGE_UP: moveSelection(-page, 0); break;
+            case PAGE_DOWN: moveSelection(page, 0); break;
+            case HOME: select(e.isControlDown() ? 0 : Math.max(selectedRow, 0), 0); break;
+            case END: select(e.isControlDown() ? matrix.rows - 1 : Math.max(selectedRow, 0), matrix.cols - 1); break;
+            case ENTER: case F2: startEdit(null); break;
+            default: return;
+        }
+        e.consume();
+    }
+
+    private void keyTyped(KeyEvent e) {
+        String typed = e.getCharacter();
+        if (matrix == null || isEditing() || typed.length() != 1) return;
+        char ch = typed.charAt(0);
+        if (Character.isDigit(ch) || ch == '-' || ch == '.' || ch == '+') {
+            startEdit(typed);
+            e.consume();
+        }
+    }
+
+    private void moveSelection(int dRow, int dCol) {
+        if (matrix == null) return;
+        int row = Math.max(selectedRow, 0) + dRow, col = Math.max(selectedCol, 0) + dCol;
+        select(Math.max(0, Math.min(matrix.rows - 1, row)), Math.max(0, Math.min(matrix.cols - 1, col)));
+    }
+
+    private void select(int row, int col) {
+        selectedRow = row;
+        selectedCol = col;
+        scrollTo(row, col);
+        draw();
+    }
+
+    /**
+     * Scrolls the least amount that makes the cell fully visible.
+     */
+    private void scrollTo(int row, int col) {
+        double rows = visibleRows(), cols = visibleCols();
+        if (row < vbar.getValue()) {
+            vbar.setValue(row);
+        } else if (row + 1 > vbar.getValue() + rows) {
+            vbar.setValue(clamp(row + 1 - rows, vbar.getMax()));
+        }
+        if (col < hbar.getValue()) {
+            hbar.setValue(col);
+        } else if (col + 1 > hbar.getValue() + cols) {
+            hbar.setValue(clamp(col + 1 - cols, hbar.getMax()));
+        }
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.max(0, Math.min(max, value));
+    }
+
+    private boolean isEditing() {
+        return editRow >= 0;
+    }
+
+    /**
+     * Opens the editor on the selected cell, with the exact current value or with the
+     * character that was typed to start editing.
+     */
+    private void startEdit(String initialText) {
+        if (!editable || matrix == null || selectedRow < 0) return;
+        scrollTo(selectedRow, selectedCol);
+        editRow = selectedRow;
+        editCol = selectedCol;
+        editor.setStyle("");
+        editor.setText(initialText != null ? initialText : Double.toString(matrix.data[editRow][editCol]));
+        positionEditor();
+        editor.setVisible(true);
+        editor.requestFocus();
+        if (initialText != null) {
+            editor.end();
+        } else {
+            editor.selectAll();
+        }
+    }
+
+    private void positionEditor() {
+        double x = canvas.getLayoutX() + HEADER_WIDTH + (editCol - hbar.getValue()) * CELL_WIDTH;
+        double y = canvas.getLayoutY() + HEADER_HEIGHT + (editRow - vbar.getValue()) * CELL_HEIGHT;
+        editor.resizeRelocate(x, y, CELL_WIDTH, CELL_HEIGHT);
+    }
+
+    /**
+     * Writes the edited value into the matrix. An unparsable value keeps the editor
+     * open, marked red, and returns false.
+     */
+    private boolean commitEdit() {
+        if (!isEditing()) return true;
+        try {
+            matrix.data[editRow][editCol] = Double.parseDouble(editor.getText().trim());
+        } catch (NumberFormatException e) {
+            editor.setStyle("-fx-border-color: #f44336;");
+            return false;
+        }
+        closeEditor();
+        return true;
+    }
+
+    private void cancelEdit() {
+        if (isEditing()) closeEditor();
+    }
+
+    private void stopEditing() {
+        if (!commitEdit()) cancelEdit();
+    }
+
+    private void closeEditor() {
+        // Only take focus back if the editor had it, not when it lost it to another control
+        boolean hadFocus = editor.isFocused();
+        editRow = editCol = -1;
+        editor.setVisible(false);
+        if (hadFocus) requestFocus();
+        draw();
+    }
+}
@@ -0,0 +1,287 @@
+import algorithms.AllocationProbe;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs a benchmark iteration until the JVM reaches steady state, then times a fixed
+ * number of measured iterations.
+ *
+ * Warmup ends when the coefficient of variation of the last `window` iteration times
+ * drops below a target and the JIT compiler (CompilationMXBean) spent next to no time
+ * during those iterations, i.e. the code being timed is no longer being compiled. It
+ * also ends, without reaching steady state, after a maximum number of iterations or a
+ * time budget. When single iterations are long compared to the budget the window
+ * shrinks (down to 2), so large sizes do not spend minutes in warmup.
+ *
+ * Every measured iteration records the bytes allocated by the caller and the worker
+ * threads (AllocationProbe.startWorkers()), its GC count and time and JIT time.
+ * Iterations far from the median (more than 3 scaled MADs and 10%) are flagged, so
+ * outliers and GC hits are visible in report() instead of disappearing into the mean.
+ */
+public class WarmupController {
+
+    public static final int DEFAULT_WINDOW = 5;
+    public static final double DEFAULT_CV_TARGET = 0.05;
+    public static final int DEFAULT_MAX_ITERATIONS = 50;
+    public static final long DEFAULT_MAX_WARMUP_MS = 10_000;
+
+    private static final int MIN_WINDOW = 2;
+    // JIT time in the window, relative to the window's run time, still counted as quiet
+    private static final double JIT_QUIET_FRACTION = 0.01;
+
+    /**
+     * Called after every iteration, e.g. to drive a progress bar.
+     */
+    public interface Listener {
+        void iterationCompleted(boolean warmup, int index, double timeMs);
+    }
+
+    private final int window;
+    private final double cvTarget;
+    private final int maxIterations;
+    private final long maxWarmupNanos;
+
+    public WarmupController() {
+        this(DEFAULT_WINDOW, DEFAULT_CV_TARGET, DEFAULT_MAX_ITERATIONS, DEFAULT_MAX_WARMUP_MS);
+    }
+
+    /**
+     * @param window          iterations whose variation decides steady state
+     * @param cvTarget        coefficient of variation (stddev / mean) counted as stable
+     * @param maxIterations   upper bound on warmup iterations
+     * @param maxWarmupMillis upper bound on warmup time
+     */
+    public WarmupController(int window, double cvTarget, int maxIterations, long maxWarmupMillis) {
+        if (window < MIN_WINDOW || maxIterations < 1 || cvTarget <= 0 || maxWarmupMillis <= 0) {
+            throw new IllegalArgumentException("Invalid warmup bounds: window " + window + ", CV " + cvTarget +
+                ", iterations " + maxIterations + ", time " + maxWarmupMillis + " ms");
+        }
+        this.window = window;
+        this.cvTarget = cvTarget;
+        this.maxIterations = maxIterations;
+        this.maxWarmupNanos = maxWarmupMillis * 1_000_000;
+    }
+
+    public Result run(Runnable iteration, int measuredIterations) {
+        return run(iteration, measuredIterations, null);
+    }
+
+    public Result run(Runnable iteration, int measuredIterations, Listener listener) {
+        if (measuredIterations < 1) {
+            throw new IllegalArgumentException("Need at least one measured iteration: " + measuredIterations);
+        }
+        List<Iteration> warmup = new ArrayList<>();
+        long warmupStart = System.nanoTime();
+        String verdict = null;
+        while (verdict == null) {
+            Iteration it = time(iteration);
+            warmup.add(it);
+            if (listener != null) listener.iterationCompleted(true, warmup.size(), it.timeMs);
+            verdict = steadyState(warmup);
+            if (verdict == null && warmup.size() >= maxIterations) {
+                verdict = "";
+            } else if (verdict == null && System.nanoTime() - warmupStart >= maxWarmupNanos) {
+                verdict = "";
+            }
+        }
+        boolean steady = !verdict.isEmpty();
+        if (!steady) {
+            verdict = String.format("not steady after %d iterations / %.1f s",
+                warmup.size(), (System.nanoTime() - warmupStart) / 1e9);
+        }
+
+        List<Iteration> measured = new ArrayList<>(measuredIterations);
+        for (int i = 0; i < measuredIterations; i++) {
+            Iteration it = time(iteration);
+            measured.add(it);
+            if (listener != null) listener.iterationCompleted(false, i + 1, it.timeMs);
+        }
+        flagOutliers(measured);
+        return new Result(warmup.size(), steady, verdict, measured);
+    }
+
+    /**
+     * Description of the steady state if the last iterations reached it, else null.
+     */
+    private String steadyState(List<Iteration> warmup) {
+        Iteration last = warmup.get(warmup.size() - 1);
+        long fit = (long) (maxWarmupNanos / 4 / Math.max(1e-3, last.timeMs * 1e6));
+        int w = (int) Math.max(MIN_WINDOW, Math.min(window, fit));
+        if (warmup.size() < w) {
+            return null;
+        }
+        double[] times = new double[w];
+        double jit = 0, total = 0;
+        for (int i = 0; i < w; i++) {
+            Iteration it = warmup.get(warmup.size() - w + i);
+            times[i] = it.timeMs;
+            jit += it.jitMs;
+            total += it.timeMs;
+        }
+        double cv = cv(times);
+        if (cv > cvTarget || jit > JIT_QUIET_FRACTION * total) {
+            return null;
+        }
+        return String.format("steady after %d iterations (CV %.1f%% over last %d, JIT quiet)",
+            warmup.size(), 100 * cv, w);
+    }
+
+    private static Iteration time(Runnable iteration) {
+        long gcCount = gcCount(), gcTime = gcTime(), jit = jitTime();
+        AllocationProbe allocation = AllocationProbe.startWorkers();
+        long start = System.nanoTime();
+        iteration.run();
+        long elapsed = System.nanoTime() - start;
+        // Read before anything else allocates: new Iteration(...) allocates ahead of its arguments
+        long allocated = allocation.allocatedBytes();
+        return new Iteration(elapsed / 1_000_000.0, allocated,
+                             gcCount() - gcCount, gcTime() - gcTime, jitTime() - jit);
+    }
+
+    private static void flagOutliers(List<Iteration> measured) {
+        double[] times = measured.stream().mapToDouble(it -> it.timeMs).toArray();
+        double median = median(times);
+        double[] deviations = Arrays.stream(times).map(t -> Math.abs(t - median)).toArray();
+        // 1.4826 * MAD estimates the standard deviation of normally distributed data
+        double limit = Math.max(3 * 1.4826 * median(deviations), 0.1 * median);
+        for (Iteration it : measured) {
+            it.outlier = Math.abs(it.timeMs - median) > limit;
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * Accumulated JIT compilation time in ms, or 0 if the JVM does not report it (which
+     * makes every window look quiet, leaving the CV as the only criterion).
+     */
+    private static long jitTime() {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        return jit != null && jit.isCompilationTimeMonitoringSupported() ? jit.getTotalCompilationTime() : 0;
+    }
+
+    static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    static double cv(double[] values) {
+        double mean = Arrays.stream(values).average().orElse(0);
+        if (values.length < 2 || mean == 0) return 0;
+        double sq = 0;
+        for (double v : values) sq += (v - mean) * (v - mean);
+        return Math.sqrt(sq / (values.length - 1)) / mean;
+    }
+
+    /**
+     * One timed iteration with the GC and JIT activity that happened during it.
+     */
+    public static class Iteration {
+        public final double timeMs;
+        public final long allocatedBytes;  // -1 if the JVM cannot count allocations
+        public final long gcCount;
+        public final long gcTimeMs;
+        public final long jitMs;
+        boolean outlier;
+
+        Iteration(double timeMs, long allocatedBytes, long gcCount, long gcTimeMs, long jitMs) {
+            this.timeMs = timeMs;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcTimeMs = gcTimeMs;
+            this.jitMs = jitMs;
+        }
+
+        public boolean isOutlier() {
+            return outlier;
+        }
+    }
+
+    public static class Result {
+        public final int warmupIterations;
+        public final boolean steady;
+        public final String warmupSummary;
+        public final List<Iteration> iterations;
+
+        Result(int warmupIterations, boolean steady, String warmupSummary, List<Iteration> iterations) {
+            this.warmupIterations = warmupIterations;
+            this.steady = steady;
+            this.warmupSummary = warmupSummary;
+            this.iterations = iterations;
+        }
+
+        public double[] samplesMs() {
+            return iterations.stream().mapToDouble(it -> it.timeMs).toArray();
+        }
+
+        public double meanMs() {
+            return Arrays.stream(samplesMs()).average().orElse(0);
+        }
+
+        public double medianMs() {
+            return median(samplesMs());
+        }
+
+        public double cv() {
+            return WarmupController.cv(samplesMs());
+        }
+
+        /**
+         * Mean bytes allocated per iteration, or -1 if allocations cannot be counted.
+         */
+        public long meanAllocatedBytes() {
+            if (iterations.stream().anyMatch(it -> it.allocatedBytes < 0)) return -1;
+            return (long) iterations.stream().mapToLong(it -> it.allocatedBytes).average().orElse(0);
+        }
+
+        /**
+         * Collections during the measured iterations.
+         */
+        public long gcCount() {
+            return iterations.stream().mapToLong(it -> it.gcCount).sum();
+        }
+
+        public long gcTimeMs() {
+            return iterations.stream().mapToLong(it -> it.gcTimeMs).sum();
+        }
+
+        /**
+         * Warmup verdict, one line per measured iteration with its GC / JIT activity and
+         * flags, and the summary statistics.
+         */
+        public String report(String name) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(name).append(": warmup ").append(warmupSummary).append('\n');
+            sb.append("     #   time (ms)  alloc (MB)   GCs  GC (ms)  JIT (ms)\n");
+            for (int i = 0; i < iterations.size(); i++) {
+                Iteration it = iterations.get(i);
+                String flags = (it.outlier ? "  outlier" : "") + (it.gcCount > 0 ? "  GC" : "")
+                             + (it.jitMs > 0 ? "  JIT" : "");
+                sb.append(String.format("  %4d %11.3f %11.3f %5d %8d %9d%s\n",
+                    i + 1, it.timeMs, it.allocatedBytes / 1e6, it.gcCount, it.gcTimeMs, it.jitMs, flags));
+            }
+            sb.append(String.format("  mean %.3f ms, median %.3f ms, CV %.1f%%\n", meanMs(), medianMs(), 100 * cv()));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package algorithms;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Measures heap bytes allocated by the calling thread plus the worker threads of a
+ * ForkJoinPool, using com.sun.management.ThreadMXBean per-thread allocation counters.
+ *
+ * Usage: take a probe before the work with {@link #start(ForkJoinPool)} and call
+ * {@link #allocatedBytes()} afterwards. {@link #startWorkers()} tracks every pool's
+ * workers instead, plus the threads the multipliers create themselves (named
+ * "matrix-..."), for engines that do not run on a ForkJoinPool. Workers that
+ * terminate inside the window take their counts with them, so the figure is a lower
+ * bound when the pool shrinks.
+ *
+ * The probe's own bookkeeping (the counter map, the thread enumeration) runs on the
+ * calling thread, so the caller's counter is read last when starting and first when
+ * finishing: a window in which the tracked code allocates nothing reports 0.
+ * Returns -1 when the JVM does not support thread allocation accounting.
+ */
+public final class AllocationProbe {
+
+    private static final com.sun.management.ThreadMXBean THREADS = initThreadBean();
+
+    // Name prefix of the worker threads created by the multipliers' own executors
+    static final String WORKER_PREFIX = "matrix-";
+
+    private final ForkJoinPool pool;
+    private final boolean allWorkers;
+    private final long caller;
+    private final Map<Long, Long> before;  // other tracked threads
+    private final long callerBefore;
+
+    private AllocationProbe(ForkJoinPool pool, boolean allWorkers) {
+        this.pool = pool;
+        this.allWorkers = allWorkers;
+        this.caller = Thread.currentThread().getId();
+        this.before = THREADS != null ? sample() : null;
+        this.callerBefore = THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * @param pool pool whose workers are included, or null for the calling thread only
+     */
+    public static AllocationProbe start(ForkJoinPool pool) {
+        return new AllocationProbe(pool, false);
+    }
+
+    /**
+     * Tracks the calling thread, the workers of every ForkJoinPool and all threads
+     * named "matrix-...", so any multiplier is covered without knowing where it runs.
+     */
+    public static AllocationProbe startWorkers() {
+        return new AllocationProbe(null, true);
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Must be called on the thread that started the probe.
+     *
+     * @return bytes allocated by the tracked threads since {@link #start}, or -1 if unsupported
+     */
+    public long allocatedBytes() {
+        if (THREADS == null) return -1;
+        long total = Math.max(0, THREADS.getCurrentThreadAllocatedBytes() - callerBefore);
+        for (Map.Entry<Long, Long> now : sample().entrySet()) {
+            long previous = before.getOrDefault(now.getKey(), 0L);
+            total += Math.max(0, now.getValue() - previous);
+        }
+        return total;
+    }
+
+    /**
+     * Counters of the tracked threads other than the caller, which is read separately.
+     */
+    private Map<Long, Long> sample() {
+        Map<Long, Long> bytes = new HashMap<>();
+        if (pool == null && !allWorkers) return bytes;
+
+        for (Thread t : allThreads()) {
+            if (t.getId() != caller && tracks(t)) {
+                long allocated = THREADS.getThreadAllocatedBytes(t.getId());
+                if (allocated >= 0) bytes.put(t.getId(), allocated);
+            }
+        }
+        return bytes;
+    }
+
+    private boolean tracks(Thread t) {
+        if (t instanceof ForkJoinWorkerThread) {
+            return allWorkers || ((ForkJoinWorkerThread) t).getPool() == pool;
+        }
+        return allWorkers && t.getName().startsWith(WORKER_PREFIX);
+    }
+
+    private static Thread[] allThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        // enumerate() silently truncates, so grow the array until everything fits
+        Thread[] threads = new Thread[root.activeCount() + 8];
+        int count;
+        while ((count = root.enumerate(threads, true)) == threads.length) {
+            threads = new Thread[threads.length * 2];
+        }
+        Thread[] result = new Thread[count];
+        System.arraycopy(threads, 0, result, 0, count);
+        return result;
+    }
+
+    private static com.sun.management.ThreadMXBean initThreadBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                        sunBean.setThreadAllocatedMemoryEnabled(true);
+                    }
+                    return sunBean;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // Fall through: allocation accounting is simply unavailable
+        }
+        return null;
+    }
+}
@@ -0,0 +1,89 @@
+package algorithms;
+
+import matrix.BandedMatrix;
+import matrix.Matrix;
+import java.util.concurrent.*;
+
+/**
+ * Multiplication with a banded left operand.
+ *
+ * Row i of A has non-zeros only in columns i-lower .. i+upper, so row i of C = A * B
+ * sums at most lower + upper + 1 rows of B: O(rows * (lower + upper + 1) * B.cols)
+ * instead of O(rows * A.cols * B.cols).
+ *
+ * As a MatrixMultiplier, multiply(A, B) treats A as banded with the bandwidths given at
+ * construction and never reads outside the band. multiply(BandedMatrix, Matrix) works
+ * from band storage and uses the matrix's own bandwidths.
+ *
+ * Rows are computed in parallel on the common ForkJoinPool with at most threshold
+ * rows per leaf task.
+ */
+public class BandedMultiplier implements MatrixMultiplier {
+
+    private static final String ALGORITHM = "Banded";
+
+    private final int threshold;
+    private final int lower, upper;
+
+    public BandedMultiplier(int threshold, int lower, int upper) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        if (lower < 0 || upper < 0) {
+            throw new IllegalArgumentException(
+                "Bandwidths must be non-negative, got lower=" + lower + ", upper=" + upper);
+        }
+        this.threshold = threshold;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    @Override
+    public Matrix multiply(Matrix A, Matrix B) {
+        checkDimensions(A.rows, A.cols, B);
+        return run(A.rows, A.cols, B, (i, k) -> A.data[i][k], lower, upper);
+    }
+
+    public Matrix multiply(BandedMatrix A, Matrix B) {
+        checkDimensions(A.rows, A.cols, B);
+        return run(A.rows, A.cols, B, (i, k) -> A.band[i][k - i + A.lower], A.lower, A.upper);
+    }
+
+    private static void checkDimensions(int rows, int cols, Matrix B) {
+        if (cols != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: A(" + rows + "x" + cols +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+    }
+
+    private interface Element {
+        double get(int i, int k);
+    }
+
+    private Matrix run(int rows, int cols, Matrix B, Element A, int lower, int upper) {
+        Matrix C = new Matrix(rows, B.cols);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        pool.invoke(new RowRangeTask((start, end) -> {
+            for (int i = start; i < end; i++) {
+                double[] c = C.data[i];
+                int kEnd = Math.min(cols, i + upper + 1);
+                for (int k = Math.max(0, i - lower); k < kEnd; k++) {
+                    double a = A.get(i, k);
+                    double[] b = B.data[k];
+                    for (int j = 0; j < B.cols; j++)
+                        c[j] += a * b[j];
+                }
+            }
+        }, 0, rows, threshold));
+
+        event.end();
+        event.record(ALGORITHM, rows, cols, B.cols, threshold, pool.getParallelism(), allocation);
+        return C;
+    }
+}
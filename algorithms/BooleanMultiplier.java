@@ -0,0 +1,127 @@
+package algorithms;
+
+import matrix.BitMatrix;
+import matrix.IntMatrix;
+import java.util.concurrent.*;
+
+/**
+ * Boolean matrix products on bit-packed matrices.
+ *
+ * - multiply: C = A * B over (OR, AND). Row i of C is the OR of the rows k of B for
+ *   which A(i, k) is set, so each set bit of A costs B.wordsPerRow word ORs and the
+ *   zero bits of A cost nothing.
+ * - count: C(i, j) = number of k with A(i, k) and B(k, j), i.e. the integer product
+ *   of two 0/1 matrices. Computed as popcount(row i of A AND row j of B^T), 64
+ *   multiply-adds per instruction pair.
+ * - transitiveClosure: reachability by repeated squaring, at most ceil(log2 n) + 1
+ *   products.
+ *
+ * Rows are computed in parallel on the common ForkJoinPool with at most threshold
+ * rows per leaf task.
+ */
+public class BooleanMultiplier {
+
+    private final int threshold;
+
+    public BooleanMultiplier(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    public BitMatrix multiply(BitMatrix A, BitMatrix B) {
+        checkDimensions(A, B);
+        return product("Boolean", A, B, false);
+    }
+
+    /**
+     * Integer product of two 0/1 matrices: C(i, j) counts the k with A(i, k) and B(k, j)
+     * (for an adjacency matrix A, count(A, A) gives the number of 2-step paths).
+     */
+    public IntMatrix count(BitMatrix A, BitMatrix B) {
+        checkDimensions(A, B);
+        BitMatrix Bt = B.transpose();
+        IntMatrix C = new IntMatrix(A.rows, B.cols);
+        run("Boolean count", A.rows, A.cols, B.cols, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                long[] a = A.bits[i];
+                int[] c = C.data[i];
+                for (int j = 0; j < B.cols; j++) {
+                    long[] b = Bt.bits[j];
+                    int sum = 0;
+                    for (int w = 0; w < a.length; w++)
+                        sum += Long.bitCount(a[w] & b[w]);
+                    c[j] = sum;
+                }
+            }
+        });
+        return C;
+    }
+
+    /**
+     * Transitive closure of a square relation: (i, j) is set iff j is reachable from i
+     * by a path of one or more steps. For the reflexive closure, OR in
+     * BitMatrix.identity(n) first.
+     *
+     * Each round computes R := R OR R * R, which doubles the path length covered, and
+     * stops as soon as a round adds nothing.
+     */
+    public BitMatrix transitiveClosure(BitMatrix A) {
+        if (A.rows != A.cols) {
+            throw new IllegalArgumentException(
+                "Transitive closure needs a square matrix, got " + A.rows + "x" + A.cols);
+        }
+        BitMatrix R = A;
+        while (true) {
+            BitMatrix next = product("Boolean closure", R, R, true);
+            if (next.equals(R)) return next;
+            R = next;
+        }
+    }
+
+    /**
+     * C = A * B, or A OR A * B when includeA is set.
+     */
+    private BitMatrix product(String algorithm, BitMatrix A, BitMatrix B, boolean includeA) {
+        BitMatrix C = new BitMatrix(A.rows, B.cols);
+        int words = B.wordsPerRow;
+        run(algorithm, A.rows, A.cols, B.cols, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                long[] a = A.bits[i];
+                long[] c = C.bits[i];
+                if (includeA) System.arraycopy(a, 0, c, 0, words);
+                for (int w = 0; w < a.length; w++) {
+                    // Visit set bits only
+                    for (long word = a[w]; word != 0; word &= word - 1) {
+                        long[] b = B.bits[(w << 6) + Long.numberOfTrailingZeros(word)];
+                        for (int x = 0; x < words; x++)
+                            c[x] |= b[x];
+                    }
+                }
+            }
+        });
+        return C;
+    }
+
+    private void run(String algorithm, int rows, int inner, int cols, RowRangeTask.RowKernel kernel) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        pool.invoke(new RowRangeTask(kernel, 0, rows, threshold));
+
+        event.end();
+        event.record(algorithm, rows, inner, cols, threshold, pool.getParallelism(), allocation);
+    }
+
+    private static void checkDimensions(BitMatrix A, BitMatrix B) {
+        if (A.cols != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: A(" + A.rows + "x" + A.cols +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+    }
+}
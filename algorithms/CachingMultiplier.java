@@ -0,0 +1,225 @@
+package algorithms;
+
+import matrix.Matrix;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MatrixMultiplier decorator that caches results keyed by the content of A and B.
+ *
+ * Operands are identified by a parallel 128-bit {@link ContentHash}, so repeated
+ * products of equal matrices are served from the cache even if they are different
+ * objects. The cache is bounded by the estimated heap size of the stored results,
+ * not by the number of entries, and evicts with either LRU or LFU.
+ *
+ * Callers that know an operand has not changed can wrap it in a {@link Handle},
+ * which remembers its hash until {@link Handle#markModified()} is called.
+ *
+ * Results are copied on the way in and out, so callers may freely modify the
+ * returned matrix; the O(n^2) copy is small next to the O(n^3) multiply it saves.
+ */
+public class CachingMultiplier implements MatrixMultiplier {
+
+    public enum EvictionPolicy {
+        /** Evict the entry that was used least recently */
+        LRU,
+        /** Evict the entry with the fewest hits, least recently used among ties */
+        LFU
+    }
+
+    private final MatrixMultiplier delegate;
+    private final long maxBytes;
+    private final EvictionPolicy policy;
+
+    // Access-ordered, so iteration runs from least to most recently used
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CachingMultiplier(MatrixMultiplier delegate, long maxBytes, EvictionPolicy policy) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+        }
+        this.delegate = delegate;
+        this.maxBytes = maxBytes;
+        this.policy = policy;
+    }
+
+    public CachingMultiplier(MatrixMultiplier delegate, long maxBytes) {
+        this(delegate, maxBytes, EvictionPolicy.LRU);
+    }
+
+    @Override
+    public Matrix multiply(Matrix A, Matrix B) {
+        return multiply(A, ContentHash.of(A), B, ContentHash.of(B));
+    }
+
+    /**
+     * Multiplies two handles, reusing their cached hashes when they are unmodified.
+     */
+    public Matrix multiply(Handle A, Handle B) {
+        return multiply(A.matrix, A.hash(), B.matrix, B.hash());
+    }
+
+    private Matrix multiply(Matrix A, ContentHash hashA, Matrix B, ContentHash hashB) {
+        Key key = new Key(hashA, hashB);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                entry.frequency++;
+                return entry.result.copy();
+            }
+            misses++;
+        }
+
+        // Compute outside the lock; two threads missing on the same key both compute
+        Matrix result = delegate.multiply(A, B);
+        long bytes = TaskMetrics.matrixBytes(result.rows, result.cols);
+        if (bytes <= maxBytes) {
+            store(key, new Entry(result.copy(), bytes));
+        }
+        return result;
+    }
+
+    private synchronized void store(Key key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            currentBytes -= previous.bytes;
+        }
+        currentBytes += entry.bytes;
+        // The new entry fits on its own (bytes <= maxBytes), so this always terminates
+        while (currentBytes > maxBytes) {
+            evictOne(key);
+        }
+    }
+
+    private void evictOne(Key keep) {
+        Map.Entry<Key, Entry> victim = null;
+        for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+            if (candidate.getKey().equals(keep)) continue;
+            if (policy == EvictionPolicy.LRU) {
+                victim = candidate;
+                break;
+            }
+            // LFU: iteration order is LRU, so the first minimum wins ties
+            if (victim == null || candidate.getValue().frequency < victim.getValue().frequency) {
+                victim = candidate;
+            }
+        }
+        currentBytes -= victim.getValue().bytes;
+        entries.remove(victim.getKey());
+        evictions++;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("CachingMultiplier[%s, %s, entries=%d, %.2f/%.2f MB, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d]",
+                delegate.getClass().getSimpleName(), policy, entries.size(),
+                currentBytes / (1024.0 * 1024.0), maxBytes / (1024.0 * 1024.0),
+                hits, misses, getHitRate() * 100, evictions);
+    }
+
+    /**
+     * Versioned reference to an operand whose content hash is computed at most once
+     * per version. Call {@link #markModified()} after changing the wrapped matrix.
+     */
+    public static class Handle {
+        private final Matrix matrix;
+        private long version;
+        private ContentHash hash;
+        private long hashVersion = -1;
+
+        public Handle(Matrix matrix) {
+            this.matrix = matrix;
+        }
+
+        public Matrix getMatrix() {
+            return matrix;
+        }
+
+        public synchronized long getVersion() {
+            return version;
+        }
+
+        public synchronized void markModified() {
+            version++;
+        }
+
+        synchronized ContentHash hash() {
+            if (hashVersion != version) {
+                hash = ContentHash.of(matrix);
+                hashVersion = version;
+            }
+            return hash;
+        }
+    }
+
+    private static final class Key {
+        private final ContentHash a, b;
+
+        Key(ContentHash a, ContentHash b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return a.equals(other.a) && b.equals(other.b);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * a.hashCode() + b.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        final Matrix result;
+        final long bytes;
+        long frequency;
+
+        Entry(Matrix result, long bytes) {
+            this.result = result;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package algorithms;
+
+import matrix.Matrix;
+import java.util.concurrent.*;
+
+/**
+ * 128-bit content hash of a Matrix, computed in parallel over row ranges.
+ *
+ * Each row is hashed with two independent multiply-xorshift lanes, then mixed with
+ * its row index and summed. Because the per-row contributions are combined with an
+ * addition, subtasks can be merged in any order while the row position still
+ * changes the result. The shape is part of the hash, so equal hashes imply equal
+ * dimensions.
+ *
+ * This is not a cryptographic hash; it is meant to key caches of results.
+ */
+public final class ContentHash {
+
+    // Below this many elements the hash is computed in the calling thread
+    private static final long SEQUENTIAL_CUTOFF = 1 << 16;
+
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    public final int rows;
+    public final int cols;
+    private final long high;
+    private final long low;
+
+    private ContentHash(int rows, int cols, long high, long low) {
+        this.rows = rows;
+        this.cols = cols;
+        this.high = high;
+        this.low = low;
+    }
+
+    public static ContentHash of(Matrix m) {
+        long[] lanes;
+        if ((long) m.rows * m.cols <= SEQUENTIAL_CUTOFF) {
+            lanes = hashRows(m, 0, m.rows);
+        } else {
+            lanes = ForkJoinPool.commonPool().invoke(new HashTask(m, 0, m.rows));
+        }
+        long shape = ((long) m.rows << 32) | (m.cols & 0xFFFFFFFFL);
+        return new ContentHash(m.rows, m.cols, mix(lanes[0] ^ shape), mix(lanes[1] + shape));
+    }
+
+    private static long[] hashRows(Matrix m, int start, int end) {
+        long sum1 = 0, sum2 = 0;
+        for (int i = start; i < end; i++) {
+            double[] row = m.data[i];
+            long h1 = SEED_1, h2 = SEED_2;
+            for (int j = 0; j < row.length; j++) {
+                // doubleToLongBits canonicalises NaN, so equal-looking matrices hash equally
+                long bits = Double.doubleToLongBits(row[j]);
+                h1 = (h1 ^ bits) * 0xFF51AFD7ED558CCDL;
+                h1 ^= h1 >>> 29;
+                h2 = (h2 + bits) * 0xC4CEB9FE1A85EC53L;
+                h2 ^= h2 >>> 31;
+            }
+            sum1 += mix(h1 + i * SEED_1);
+            sum2 += mix(h2 + i * SEED_2);
+        }
+        return new long[]{sum1, sum2};
+    }
+
+    // MurmurHash3 64-bit finaliser
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ContentHash)) return false;
+        ContentHash other = (ContentHash) o;
+        return rows == other.rows && cols == other.cols && high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (high ^ (high >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%d:%016x%016x", rows, cols, high, low);
+    }
+
+    /**
+     * Hashes rows [start, end), splitting in half until the range is small enough.
+     */
+    private static class HashTask extends RecursiveTask<long[]> {
+        private final Matrix m;
+        private final int start, end;
+
+        HashTask(Matrix m, int start, int end) {
+            this.m = m;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected long[] compute() {
+            if ((long) (end - start) * m.cols <= SEQUENTIAL_CUTOFF || end - start == 1) {
+                return hashRows(m, start, end);
+            }
+            int mid = (start + end) / 2;
+            HashTask left = new HashTask(m, start, mid);
+            left.fork();
+            long[] right = new HashTask(m, mid, end).compute();
+            long[] leftResult = left.join();
+            return new long[]{leftResult[0] + right[0], leftResult[1] + right[1]};
+        }
+    }
+}
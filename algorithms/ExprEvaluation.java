@@ -0,0 +1,413 @@
+package algorithms;
+
+import matrix.Matrix;
+import matrix.Transpose;
+import algorithms.MatrixExpr.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates a MatrixExpr DAG with operator fusion.
+ *
+ * The expression is cut into regions. A region is a tree of element-wise nodes
+ * (sum, scale, Hadamard) together with the products and transposed views at its
+ * edges. Each region is computed by one row-parallel pass: for every output row,
+ * the products are computed into row buffers by the GEMM kernel, the
+ * element-wise epilogue is applied to those buffers, and the row is stored once.
+ * Products inside a region are therefore never materialized.
+ *
+ * A region needs a full matrix only for:
+ * - operands of its products that are themselves expressions (e.g. (A*B)*C);
+ * - nodes shared by several parents, which are computed once and reused.
+ * These dependencies are independent subtrees, so they are forked together on the
+ * ForkJoinPool and joined before the region's own pass. A shared result is dropped
+ * as soon as its last consumer has finished with it.
+ *
+ * Transposes are views: a transposed leaf or dependency is read column-wise, and a
+ * transposed product operand is passed to the kernel as a transpose flag.
+ */
+final class ExprEvaluation {
+
+    private final MatrixExpr root;
+    private final int threshold;
+    // Number of parent edges pointing at each node
+    private final IdentityHashMap<MatrixExpr, Integer> references = new IdentityHashMap<>();
+    // One slot per shared non-trivial node; built up front and read-only afterwards
+    private final IdentityHashMap<MatrixExpr, Slot> shared = new IdentityHashMap<>();
+
+    ExprEvaluation(MatrixExpr root, int threshold) {
+        this.root = root;
+        this.threshold = threshold;
+        countReferences(root);
+        // A transpose is only a view, so every use of a shared transpose is a use of its child
+        for (Map.Entry<MatrixExpr, Integer> e : new ArrayList<>(references.entrySet())) {
+            if (e.getKey() instanceof Transposed && e.getValue() > 1) {
+                MatrixExpr child = ((Transposed) e.getKey()).child;
+                references.put(child, references.get(child) + e.getValue() - 1);
+            }
+        }
+        for (Map.Entry<MatrixExpr, Integer> e : references.entrySet()) {
+            MatrixExpr node = e.getKey();
+            if (e.getValue() > 1 && !(node instanceof Leaf) && !(node instanceof Transposed)) {
+                shared.put(node, new Slot(node, e.getValue()));
+            }
+        }
+    }
+
+    Matrix run() {
+        if (root instanceof Leaf) {
+            return ((Leaf) root).matrix.copy();
+        }
+        return ForkJoinPool.commonPool().invoke(new RegionTask(root));
+    }
+
+    private void countReferences(MatrixExpr start) {
+        ArrayDeque<MatrixExpr> stack = new ArrayDeque<>();
+        references.put(start, 0);
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            for (MatrixExpr child : stack.pop().children()) {
+                Integer count = references.get(child);
+                references.put(child, count == null ? 1 : count + 1);
+                // Children are expanded only on the first visit
+                if (count == null) stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * True for nodes computed inside their parent's row pass: unshared element-wise
+     * nodes and unshared products.
+     */
+    private boolean isFused(MatrixExpr node) {
+        boolean fusable = node instanceof Sum || node instanceof Hadamard
+                || node instanceof Scaled || node instanceof Product;
+        return fusable && references.get(node) == 1;
+    }
+
+    /**
+     * Computes one node into a new matrix: its dependencies first (in parallel),
+     * then the fused row pass.
+     */
+    private class RegionTask extends RecursiveTask<Matrix> {
+        private final MatrixExpr node;
+
+        RegionTask(MatrixExpr node) {
+            this.node = node;
+        }
+
+        @Override
+        protected Matrix compute() {
+            if (node instanceof Transposed) {
+                // Only reachable for a transposed root: everywhere else transposes are
+                // read as views, so dependencies are never Transposed nodes
+                Transposed t = (Transposed) node;
+                return Transpose.transpose(matrixOf(t.child, resolve(collect(t.child))));
+            }
+
+            List<MatrixExpr> dependencies = new ArrayList<>();
+            collectRegion(node, dependencies, true);
+            Map<MatrixExpr, Matrix> inputs = resolve(dependencies);
+
+            Matrix result = new Matrix(node.rows, node.cols);
+            new RowPass(node, inputs, result, 0, node.rows).invoke();
+
+            for (MatrixExpr dependency : dependencies) {
+                Slot slot = shared.get(dependency);
+                if (slot != null) slot.release();
+            }
+            return result;
+        }
+    }
+
+    private List<MatrixExpr> collect(MatrixExpr node) {
+        List<MatrixExpr> dependencies = new ArrayList<>();
+        addOperand(node, dependencies);
+        return dependencies;
+    }
+
+    /**
+     * Walks the region rooted at node and records, once per edge, every node whose
+     * full matrix the row pass will read.
+     */
+    private void collectRegion(MatrixExpr node, List<MatrixExpr> dependencies, boolean isRoot) {
+        if (!isRoot && !isFused(node)) {
+            addOperand(node, dependencies);
+            return;
+        }
+        if (node instanceof Product) {
+            Product p = (Product) node;
+            addOperand(p.left, dependencies);
+            addOperand(p.right, dependencies);
+        } else {
+            for (MatrixExpr child : node.children()) {
+                collectRegion(child, dependencies, false);
+            }
+        }
+    }
+
+    private void addOperand(MatrixExpr operand, List<MatrixExpr> dependencies) {
+        if (operand instanceof Transposed) {
+            operand = ((Transposed) operand).child;
+        }
+        if (!(operand instanceof Leaf)) {
+            dependencies.add(operand);
+        }
+    }
+
+    /**
+     * Computes all dependencies, forking independent subtrees together.
+     */
+    private Map<MatrixExpr, Matrix> resolve(List<MatrixExpr> dependencies) {
+        IdentityHashMap<MatrixExpr, ForkJoinTask<Matrix>> tasks = new IdentityHashMap<>();
+        for (MatrixExpr dependency : dependencies) {
+            if (tasks.containsKey(dependency)) continue;
+            Slot slot = shared.get(dependency);
+            if (slot != null) {
+                tasks.put(dependency, slot.start());
+            } else {
+                RegionTask task = new RegionTask(dependency);
+                task.fork();
+                tasks.put(dependency, task);
+            }
+        }
+        IdentityHashMap<MatrixExpr, Matrix> results = new IdentityHashMap<>();
+        for (Map.Entry<MatrixExpr, ForkJoinTask<Matrix>> e : tasks.entrySet()) {
+            results.put(e.getKey(), e.getValue().join());
+        }
+        return results;
+    }
+
+    private static Matrix matrixOf(MatrixExpr operand, Map<MatrixExpr, Matrix> inputs) {
+        return operand instanceof Leaf ? ((Leaf) operand).matrix : inputs.get(operand);
+    }
+
+    /**
+     * Computes a shared node at most once. The first consumer forks the task, every
+     * consumer joins it, and the last one to release it drops the result.
+     */
+    private final class Slot {
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicInteger remainingUses;
+        private volatile RegionTask task;
+
+        Slot(MatrixExpr node, int uses) {
+            this.task = new RegionTask(node);
+            this.remainingUses = new AtomicInteger(uses);
+        }
+
+        ForkJoinTask<Matrix> start() {
+            RegionTask t = task;
+            if (started.compareAndSet(false, true)) {
+                t.fork();
+            }
+            return t;
+        }
+
+        void release() {
+            if (remainingUses.decrementAndGet() == 0) {
+                task = null;
+            }
+        }
+    }
+
+    /**
+     * Row-parallel fused pass over rows [start, end) of one region.
+     */
+    private class RowPass extends RecursiveAction {
+        private final MatrixExpr node;
+        private final Map<MatrixExpr, Matrix> inputs;
+        private final Matrix result;
+        private final int start, end;
+
+        RowPass(MatrixExpr node, Map<MatrixExpr, Matrix> inputs, Matrix result, int start, int end) {
+            this.node = node;
+            this.inputs = inputs;
+            this.result = result;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > threshold) {
+                int mid = (start + end) / 2;
+                invokeAll(new RowPass(node, inputs, result, start, mid),
+                          new RowPass(node, inputs, result, mid, end));
+                return;
+            }
+            // Each leaf compiles its own program so the row buffers are task-local
+            RowOp program = compile(node, inputs, true);
+            for (int i = start; i < end; i++) {
+                double[] out = result.data[i];
+                double[] row = program.row(i, out);
+                if (row != out) {
+                    System.arraycopy(row, 0, out, 0, result.cols);
+                }
+            }
+        }
+    }
+
+    private RowOp compile(MatrixExpr node, Map<MatrixExpr, Matrix> inputs, boolean isRoot) {
+        if (node instanceof Leaf) {
+            return new MatrixRow(((Leaf) node).matrix);
+        }
+        if (node instanceof Transposed) {
+            MatrixExpr child = ((Transposed) node).child;
+            return new TransposedRow(matrixOf(child, inputs));
+        }
+        if (!isRoot && !isFused(node)) {
+            return new MatrixRow(inputs.get(node));
+        }
+        if (node instanceof Product) {
+            Product p = (Product) node;
+            boolean transA = p.left instanceof Transposed;
+            boolean transB = p.right instanceof Transposed;
+            Matrix A = matrixOf(transA ? ((Transposed) p.left).child : p.left, inputs);
+            Matrix B = matrixOf(transB ? ((Transposed) p.right).child : p.right, inputs);
+            return new ProductRow(transA, A, transB, B, node.cols);
+        }
+        if (node instanceof Scaled) {
+            Scaled s = (Scaled) node;
+            return new ScaledRow(compile(s.child, inputs, false), s.factor, node.cols);
+        }
+        if (node instanceof Sum) {
+            Sum s = (Sum) node;
+            return new SumRow(compile(s.left, inputs, false), compile(s.right, inputs, false), node.cols);
+        }
+        Hadamard h = (Hadamard) node;
+        return new HadamardRow(compile(h.left, inputs, false), compile(h.right, inputs, false), node.cols);
+    }
+
+    /**
+     * Produces one row of a node. The op may write into scratch and return it, or
+     * return another array (such as a row of an input matrix) that must not be modified.
+     */
+    private interface RowOp {
+        double[] row(int i, double[] scratch);
+    }
+
+    private static final class MatrixRow implements RowOp {
+        private final Matrix m;
+
+        MatrixRow(Matrix m) {
+            this.m = m;
+        }
+
+        @Override
+        public double[] row(int i, double[] scratch) {
+            return m.data[i];
+        }
+    }
+
+    private static final class TransposedRow implements RowOp {
+        private final Matrix m;
+
+        TransposedRow(Matrix m) {
+            this.m = m;
+        }
+
+        @Override
+        public double[] row(int i, double[] scratch) {
+            for (int j = 0; j < m.rows; j++) {
+                scratch[j] = m.data[j][i];
+            }
+            return scratch;
+        }
+    }
+
+    private static final class ProductRow implements RowOp {
+        private final boolean transA, transB;
+        private final Matrix A, B;
+        private final int width;
+        private final double[] aColumn;
+
+        ProductRow(boolean transA, Matrix A, boolean transB, Matrix B, int width) {
+            this.transA = transA;
+            this.transB = transB;
+            this.A = A;
+            this.B = B;
+            this.width = width;
+            this.aColumn = transA ? new double[A.rows] : null;
+        }
+
+        @Override
+        public double[] row(int i, double[] scratch) {
+            GemmKernel.productRow(transA, transB, A, B, i, 0, width, scratch, aColumn);
+            return scratch;
+        }
+    }
+
+    private static final class ScaledRow implements RowOp {
+        private final RowOp child;
+        private final double factor;
+        private final int width;
+
+        ScaledRow(RowOp child, double factor, int width) {
+            this.child = child;
+            this.factor = factor;
+            this.width = width;
+        }
+
+        @Override
+        public double[] row(int i, double[] scratch) {
+            double[] c = child.row(i, scratch);
+            for (int j = 0; j < width; j++) {
+                scratch[j] = factor * c[j];
+            }
+            return scratch;
+        }
+    }
+
+    private static final class SumRow implements RowOp {
+        private final RowOp left, right;
+        private final double[] rightBuffer;
+        private final int width;
+
+        SumRow(RowOp left, RowOp right, int width) {
+            this.left = left;
+            this.right = right;
+            this.width = width;
+            this.rightBuffer = new double[width];
+        }
+
+        @Override
+        public double[] row(int i, double[] scratch) {
+            double[] l = left.row(i, scratch);
+            double[] r = right.row(i, rightBuffer);
+            for (int j = 0; j < width; j++) {
+                scratch[j] = l[j] + r[j];
+            }
+            return scratch;
+        }
+    }
+
+    private static final class HadamardRow implements RowOp {
+        private final RowOp left, right;
+        private final double[] rightBuffer;
+        private final int width;
+
+        HadamardRow(RowOp left, RowOp right, int width) {
+            this.left = left;
+            this.right = right;
+            this.width = width;
+            this.rightBuffer = new double[width];
+        }
+
+        @Override
+        public double[] row(int i, double[] scratch) {
+            double[] l = left.row(i, scratch);
+            double[] r = right.row(i, rightBuffer);
+            for (int j = 0; j < width; j++) {
+                scratch[j] = l[j] * r[j];
+            }
+            return scratch;
+        }
+    }
+}
@@ -20,12 +20,25 @@ import java.util.concurrent.*;
  * 1. Split along k-dimension: For accumulating partial products (C = A*B)
  * 2. Split along row/column: For dividing the result matrix into quadrants
  */
-public class ForkJoinBlockMultiplier implements MatrixMultiplier {
+public class ForkJoinBlockMultiplier implements InstrumentedMultiplier, GemmMultiplier, ProgressiveMultiplier {
+
+    private static final String ALGORITHM = "ForkJoin Block-based";
 
     private final int threshold;
+    private final ForkJoinPool pool;
+    private volatile TaskMetrics.Snapshot lastMetrics;
 
     public ForkJoinBlockMultiplier(int threshold) {
+        this(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs every multiply on the given pool instead of the common pool, e.g. a pool of
+     * fixed parallelism for scaling measurements.
+     */
+    public ForkJoinBlockMultiplier(int threshold, ForkJoinPool pool) {
         this.threshold = threshold;
+        this.pool = pool;
     }
 
     @Override
@@ -36,14 +49,147 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
                 ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
         }
         
-        // Create ForkJoinPool and invoke the root task
+        // Invoke the root task on the configured pool
         // The root task computes the entire result matrix [0, A.rows) x [0, B.cols)
         // using the full k-range [0, A.cols) for the dot product
-        ForkJoinPool pool = ForkJoinPool.commonPool();
-        BlockTask rootTask = new BlockTask(A, B, 0, A.rows, 0, B.cols, 0, A.cols);
+        TaskMetrics metrics = TaskMetrics.ENABLED ? new TaskMetrics(pool) : null;
+        BlockTask rootTask = new BlockTask(A, B, 0, A.rows, 0, B.cols, 0, A.cols, metrics, 0);
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
         
         // The root task returns the complete result matrix
-        return pool.invoke(rootTask);
+        Matrix result = pool.invoke(rootTask);
+
+        event.end();
+        event.record(ALGORITHM, A, B, threshold, pool.getParallelism(), allocation);
+        if (TaskMetrics.ENABLED) {
+            lastMetrics = metrics.snapshot(ALGORITHM);
+        }
+        return result;
+    }
+
+    /**
+     * In-place C = alpha * op(A) * op(B) + beta * C.
+     *
+     * Splits the result into quadrants until a block holds at most threshold cells.
+     * Unlike multiply it never splits along k: two k-halves would write the same block
+     * of C and could not run in parallel without the temporary matrices this path
+     * exists to avoid.
+     */
+    @Override
+    public void gemm(boolean transA, boolean transB, double alpha, Matrix A, Matrix B, double beta, Matrix C) {
+        GemmKernel.checkDimensions(transA, transB, A, B, C);
+
+        runGemm(ALGORITHM + " GEMM", transA, transB, alpha, A, B, beta, C, null);
+    }
+
+    /**
+     * C = A * B computed in place by the GEMM quadrant tasks, each leaf reporting its
+     * block to the listener as soon as it is written. The k-splitting BlockTask of
+     * multiply cannot be used: its blocks are not final until the k-partials are summed.
+     */
+    @Override
+    public void multiply(Matrix A, Matrix B, Matrix C, ProgressListener listener) {
+        GemmKernel.checkDimensions(false, false, A, B, C);
+
+        runGemm(getProgressiveAlgorithm(), false, false, 1.0, A, B, 0.0, C, listener);
+    }
+
+    @Override
+    public String getProgressiveAlgorithm() {
+        return ALGORITHM + " GEMM (progressive)";
+    }
+
+    private void runGemm(String algorithm, boolean transA, boolean transB, double alpha, Matrix A, Matrix B,
+                         double beta, Matrix C, ProgressListener listener) {
+        TaskMetrics metrics = TaskMetrics.ENABLED ? new TaskMetrics(pool) : null;
+        GemmTaskContext context = new GemmTaskContext(algorithm, metrics, listener);
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        pool.invoke(new GemmBlockTask(transA, transB, alpha, A, B, beta, C, 0, C.rows, 0, C.cols, context, 0));
+
+        event.end();
+        event.record(algorithm, C.rows, transA ? A.rows : A.cols, C.cols,
+                     threshold, pool.getParallelism(), allocation);
+        if (TaskMetrics.ENABLED) {
+            lastMetrics = metrics.snapshot(algorithm);
+        }
+    }
+
+    @Override
+    public TaskMetrics.Snapshot getLastMetrics() {
+        return lastMetrics;
+    }
+
+    /**
+     * RecursiveAction that computes the block [rStart, rEnd) x [cStart, cEnd) of
+     * C = alpha * op(A) * op(B) + beta * C in place. Quadrants are disjoint, so no
+     * synchronization is needed. The context records leaves and metrics like BlockTask
+     * and, for a progressive multiply, reports each leaf's block and checks for
+     * cancellation in every task.
+     */
+    private class GemmBlockTask extends RecursiveAction {
+        private final boolean transA, transB;
+        private final double alpha, beta;
+        private final Matrix A, B, C;
+        private final int rStart, rEnd;
+        private final int cStart, cEnd;
+        private final GemmTaskContext context;
+        private final int depth;  // Recursion depth, root is 0
+
+        GemmBlockTask(boolean transA, boolean transB, double alpha, Matrix A, Matrix B, double beta, Matrix C,
+                      int rStart, int rEnd, int cStart, int cEnd, GemmTaskContext context, int depth) {
+            this.transA = transA;
+            this.transB = transB;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.A = A;
+            this.B = B;
+            this.C = C;
+            this.rStart = rStart;
+            this.rEnd = rEnd;
+            this.cStart = cStart;
+            this.cEnd = cEnd;
+            this.context = context;
+            this.depth = depth;
+        }
+
+        private GemmBlockTask split(int rStart, int rEnd, int cStart, int cEnd) {
+            return new GemmBlockTask(transA, transB, alpha, A, B, beta, C, rStart, rEnd, cStart, cEnd,
+                                     context, depth + 1);
+        }
+
+        @Override
+        protected void compute() {
+            context.taskStarted(depth);
+            int rows = rEnd - rStart;
+            int cols = cEnd - cStart;
+
+            if (rows * cols <= threshold || (rows == 1 && cols == 1)) {
+                context.leaf(transA, transB, alpha, A, B, beta, C, rStart, rEnd, cStart, cEnd);
+                return;
+            }
+
+            int rMid = (rStart + rEnd) / 2;
+            int cMid = (cStart + cEnd) / 2;
+            if (rows == 1) {
+                invokeAll(split(rStart, rEnd, cStart, cMid),
+                          split(rStart, rEnd, cMid, cEnd));
+            } else if (cols == 1) {
+                invokeAll(split(rStart, rMid, cStart, cEnd),
+                          split(rMid, rEnd, cStart, cEnd));
+            } else {
+                invokeAll(split(rStart, rMid, cStart, cMid),
+                          split(rStart, rMid, cMid, cEnd),
+                          split(rMid, rEnd, cStart, cMid),
+                          split(rMid, rEnd, cMid, cEnd));
+            }
+        }
     }
 
     /**
@@ -62,11 +208,14 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
         private final int rStart, rEnd;  // Row range [rStart, rEnd) in result matrix
         private final int cStart, cEnd;  // Column range [cStart, cEnd) in result matrix
         private final int kStart, kEnd;  // K range [kStart, kEnd) for dot product
+        private final TaskMetrics metrics;  // null unless TaskMetrics.ENABLED
+        private final int depth;            // Recursion depth, root is 0
 
         BlockTask(Matrix A, Matrix B,
                   int rStart, int rEnd,
                   int cStart, int cEnd,
-                  int kStart, int kEnd) {
+                  int kStart, int kEnd,
+                  TaskMetrics metrics, int depth) {
             this.A = A; 
             this.B = B;
             this.rStart = rStart; 
@@ -75,6 +224,8 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
             this.cEnd = cEnd;
             this.kStart = kStart;
             this.kEnd = kEnd;
+            this.metrics = metrics;
+            this.depth = depth;
         }
 
         @Override
@@ -82,11 +233,17 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
             int rows = rEnd - rStart;
             int cols = cEnd - cStart;
             int kSize = kEnd - kStart;
+            if (TaskMetrics.ENABLED) {
+                metrics.taskCreated(depth);
+            }
 
             // BASE CASE: If the block is small enough, compute directly
             // We check both the block size (rows * cols) and the k-dimension size
             // This avoids the overhead of task creation for small subproblems
             if (rows * cols <= threshold || kSize <= threshold) {
+                long leafStart = TaskMetrics.ENABLED ? System.nanoTime() : 0L;
+                LeafTaskEvent leafEvent = new LeafTaskEvent();
+                boolean sampled = leafEvent.beginSampled();
                 // Create a result matrix for just this block
                 Matrix result = new Matrix(rows, cols);
                 
@@ -106,6 +263,13 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
                         result.data[i][j] = sum;
                     }
                 }
+                if (TaskMetrics.ENABLED) {
+                    metrics.matrixAllocated(rows, cols);
+                    metrics.leafExecuted(System.nanoTime() - leafStart);
+                }
+                if (sampled) {
+                    leafEvent.record(ALGORITHM, rStart, rEnd, cStart, cEnd, kStart, kEnd);
+                }
                 return result;  // Return the partial result block
             }
 
@@ -119,8 +283,8 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
                 int kMid = (kStart + kEnd) / 2;
                 
                 // Create two subtasks that compute the same block but with different k-ranges
-                BlockTask leftTask = new BlockTask(A, B, rStart, rEnd, cStart, cEnd, kStart, kMid);
-                BlockTask rightTask = new BlockTask(A, B, rStart, rEnd, cStart, cEnd, kMid, kEnd);
+                BlockTask leftTask = new BlockTask(A, B, rStart, rEnd, cStart, cEnd, kStart, kMid, metrics, depth + 1);
+                BlockTask rightTask = new BlockTask(A, B, rStart, rEnd, cStart, cEnd, kMid, kEnd, metrics, depth + 1);
                 
                 // Fork the left task, compute the right task in current thread
                 leftTask.fork();
@@ -144,10 +308,10 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
                 // Top-right:   [rStart, rMid) x [cMid, cEnd)
                 // Bottom-left: [rMid, rEnd) x [cStart, cMid)
                 // Bottom-right: [rMid, rEnd) x [cMid, cEnd)
-                BlockTask topLeft = new BlockTask(A, B, rStart, rMid, cStart, cMid, kStart, kEnd);
-                BlockTask topRight = new BlockTask(A, B, rStart, rMid, cMid, cEnd, kStart, kEnd);
-                BlockTask bottomLeft = new BlockTask(A, B, rMid, rEnd, cStart, cMid, kStart, kEnd);
-                BlockTask bottomRight = new BlockTask(A, B, rMid, rEnd, cMid, cEnd, kStart, kEnd);
+                BlockTask topLeft = new BlockTask(A, B, rStart, rMid, cStart, cMid, kStart, kEnd, metrics, depth + 1);
+                BlockTask topRight = new BlockTask(A, B, rStart, rMid, cMid, cEnd, kStart, kEnd, metrics, depth + 1);
+                BlockTask bottomLeft = new BlockTask(A, B, rMid, rEnd, cStart, cMid, kStart, kEnd, metrics, depth + 1);
+                BlockTask bottomRight = new BlockTask(A, B, rMid, rEnd, cMid, cEnd, kStart, kEnd, metrics, depth + 1);
                 
                 // Fork all tasks for parallel execution
                 topLeft.fork();
@@ -181,6 +345,9 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
         private Matrix addMatrices(Matrix left, Matrix right) {
             // Both matrices have the same dimensions
             Matrix result = new Matrix(left.rows, left.cols);
+            if (TaskMetrics.ENABLED) {
+                metrics.matrixAllocated(left.rows, left.cols);
+            }
             for (int i = 0; i < left.rows; i++) {
                 for (int j = 0; j < left.cols; j++) {
                     // Add corresponding elements
@@ -209,6 +376,9 @@ public class ForkJoinBlockMultiplier implements MatrixMultiplier {
             int totalRows = topLeft.rows + bottomLeft.rows;
             int totalCols = topLeft.cols + topRight.cols;
             Matrix result = new Matrix(totalRows, totalCols);
+            if (TaskMetrics.ENABLED) {
+                metrics.matrixAllocated(totalRows, totalCols);
+            }
             
             // Copy top-left block to position (0, 0)
             for (int i = 0; i < topLeft.rows; i++) {
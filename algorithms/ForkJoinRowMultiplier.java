@@ -16,12 +16,25 @@ import java.util.concurrent.*;
  * - Recursively compute multiplication for each half
  * - Combine the two partial result matrices into the final result
  */
-public class ForkJoinRowMultiplier implements MatrixMultiplier {
+public class ForkJoinRowMultiplier implements InstrumentedMultiplier, GemmMultiplier, ProgressiveMultiplier {
+
+    private static final String ALGORITHM = "ForkJoin Row-based";
 
     private final int threshold;
+    private final ForkJoinPool pool;
+    private volatile TaskMetrics.Snapshot lastMetrics;
 
     public ForkJoinRowMultiplier(int threshold) {
+        this(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs every multiply on the given pool instead of the common pool, e.g. a pool of
+     * fixed parallelism for scaling measurements.
+     */
+    public ForkJoinRowMultiplier(int threshold, ForkJoinPool pool) {
         this.threshold = threshold;
+        this.pool = pool;
     }
 
     @Override
@@ -32,12 +45,119 @@ public class ForkJoinRowMultiplier implements MatrixMultiplier {
                 ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
         }
 
-        // Create ForkJoinPool and invoke the root task
-        ForkJoinPool pool = ForkJoinPool.commonPool();
-        RowTask rootTask = new RowTask(A, B, 0, A.rows);
+        // Invoke the root task on the configured pool
+        TaskMetrics metrics = TaskMetrics.ENABLED ? new TaskMetrics(pool) : null;
+        RowTask rootTask = new RowTask(A, B, 0, A.rows, metrics, 0);
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
         
         // The root task returns the complete result matrix
-        return pool.invoke(rootTask);
+        Matrix result = pool.invoke(rootTask);
+
+        event.end();
+        event.record(ALGORITHM, A, B, threshold, pool.getParallelism(), allocation);
+        if (TaskMetrics.ENABLED) {
+            lastMetrics = metrics.snapshot(ALGORITHM);
+        }
+        return result;
+    }
+
+    /**
+     * In-place C = alpha * op(A) * op(B) + beta * C.
+     *
+     * Uses the same row-range decomposition as multiply, but each leaf writes its rows
+     * straight into C, so there are no partial matrices to combine.
+     */
+    @Override
+    public void gemm(boolean transA, boolean transB, double alpha, Matrix A, Matrix B, double beta, Matrix C) {
+        GemmKernel.checkDimensions(transA, transB, A, B, C);
+
+        runGemm(ALGORITHM + " GEMM", transA, transB, alpha, A, B, beta, C, null);
+    }
+
+    /**
+     * C = A * B computed in place by the GEMM row tasks (not the RowTask of multiply,
+     * whose rows only reach the result when the partial matrices are combined), each
+     * leaf reporting its rows to the listener as soon as they are written.
+     */
+    @Override
+    public void multiply(Matrix A, Matrix B, Matrix C, ProgressListener listener) {
+        GemmKernel.checkDimensions(false, false, A, B, C);
+
+        runGemm(getProgressiveAlgorithm(), false, false, 1.0, A, B, 0.0, C, listener);
+    }
+
+    @Override
+    public String getProgressiveAlgorithm() {
+        return ALGORITHM + " GEMM (progressive)";
+    }
+
+    private void runGemm(String algorithm, boolean transA, boolean transB, double alpha, Matrix A, Matrix B,
+                         double beta, Matrix C, ProgressListener listener) {
+        TaskMetrics metrics = TaskMetrics.ENABLED ? new TaskMetrics(pool) : null;
+        GemmTaskContext context = new GemmTaskContext(algorithm, metrics, listener);
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        pool.invoke(new GemmRowTask(transA, transB, alpha, A, B, beta, C, 0, C.rows, context, 0));
+
+        event.end();
+        event.record(algorithm, C.rows, transA ? A.rows : A.cols, C.cols,
+                     threshold, pool.getParallelism(), allocation);
+        if (TaskMetrics.ENABLED) {
+            lastMetrics = metrics.snapshot(algorithm);
+        }
+    }
+
+    @Override
+    public TaskMetrics.Snapshot getLastMetrics() {
+        return lastMetrics;
+    }
+
+    /**
+     * RecursiveAction that computes rows [start, end) of C = alpha * op(A) * op(B) + beta * C
+     * in place. Sibling tasks own disjoint rows of C, so no synchronization is needed.
+     * The context records leaves and metrics like RowTask and, for a progressive
+     * multiply, reports each leaf's rows and checks for cancellation in every task.
+     */
+    private class GemmRowTask extends RecursiveAction {
+        private final boolean transA, transB;
+        private final double alpha, beta;
+        private final Matrix A, B, C;
+        private final int start, end;
+        private final GemmTaskContext context;
+        private final int depth;  // Recursion depth, root is 0
+
+        GemmRowTask(boolean transA, boolean transB, double alpha, Matrix A, Matrix B, double beta, Matrix C,
+                    int start, int end, GemmTaskContext context, int depth) {
+            this.transA = transA;
+            this.transB = transB;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.A = A;
+            this.B = B;
+            this.C = C;
+            this.start = start;
+            this.end = end;
+            this.context = context;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            context.taskStarted(depth);
+            if (end - start <= threshold) {
+                context.leaf(transA, transB, alpha, A, B, beta, C, start, end, 0, C.cols);
+                return;
+            }
+            int mid = (start + end) / 2;
+            invokeAll(new GemmRowTask(transA, transB, alpha, A, B, beta, C, start, mid, context, depth + 1),
+                      new GemmRowTask(transA, transB, alpha, A, B, beta, C, mid, end, context, depth + 1));
+        }
     }
 
     /**
@@ -50,21 +170,31 @@ public class ForkJoinRowMultiplier implements MatrixMultiplier {
     private class RowTask extends RecursiveTask<Matrix> {
         private final Matrix A, B;
         private final int start, end;  // Row range [start, end) to compute
+        private final TaskMetrics metrics;  // null unless TaskMetrics.ENABLED
+        private final int depth;            // Recursion depth, root is 0
 
-        RowTask(Matrix A, Matrix B, int start, int end) {
+        RowTask(Matrix A, Matrix B, int start, int end, TaskMetrics metrics, int depth) {
             this.A = A; 
             this.B = B;
             this.start = start; 
             this.end = end;
+            this.metrics = metrics;
+            this.depth = depth;
         }
 
         @Override
         protected Matrix compute() {
             int rowsToCompute = end - start;
+            if (TaskMetrics.ENABLED) {
+                metrics.taskCreated(depth);
+            }
             
             // BASE CASE: If the number of rows is small enough, compute directly
             // This avoids the overhead of task creation for small subproblems
             if (rowsToCompute <= threshold) {
+                long leafStart = TaskMetrics.ENABLED ? System.nanoTime() : 0L;
+                LeafTaskEvent leafEvent = new LeafTaskEvent();
+                boolean sampled = leafEvent.beginSampled();
                 // Create a result matrix for just these rows
                 Matrix result = new Matrix(rowsToCompute, B.cols);
                 
@@ -83,6 +213,13 @@ public class ForkJoinRowMultiplier implements MatrixMultiplier {
                         result.data[i][j] = sum;
                     }
                 }
+                if (TaskMetrics.ENABLED) {
+                    metrics.matrixAllocated(rowsToCompute, B.cols);
+                    metrics.leafExecuted(System.nanoTime() - leafStart);
+                }
+                if (sampled) {
+                    leafEvent.record(ALGORITHM, start, end, 0, B.cols, 0, A.cols);
+                }
                 return result;  // Return the partial result matrix
             }
             
@@ -93,8 +230,8 @@ public class ForkJoinRowMultiplier implements MatrixMultiplier {
             // Create two subtasks:
             // - Left task computes rows [start, mid)
             // - Right task computes rows [mid, end)
-            RowTask leftTask = new RowTask(A, B, start, mid);
-            RowTask rightTask = new RowTask(A, B, mid, end);
+            RowTask leftTask = new RowTask(A, B, start, mid, metrics, depth + 1);
+            RowTask rightTask = new RowTask(A, B, mid, end, metrics, depth + 1);
             
             // Fork the left task (submit it to the pool for parallel execution)
             // Compute the right task in the current thread
@@ -123,6 +260,9 @@ public class ForkJoinRowMultiplier implements MatrixMultiplier {
             int totalRows = end - start;
             int cols = B.cols;
             Matrix combined = new Matrix(totalRows, cols);
+            if (TaskMetrics.ENABLED) {
+                metrics.matrixAllocated(totalRows, cols);
+            }
             
             // Copy left part: rows 0 to (mid-start-1) from left matrix
             int leftRows = mid - start;
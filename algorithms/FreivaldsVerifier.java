@@ -0,0 +1,136 @@
+package algorithms;
+
+import matrix.Matrix;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * Probabilistic check that C = A * B in O(n^2), using Freivalds' algorithm.
+ *
+ * Each round draws a random vector r with entries +1 / -1 and compares A * (B * r)
+ * with C * r: three matrix-vector products instead of a full multiply. If C is wrong,
+ * a round detects it with probability at least 1/2, so k rounds miss an error with
+ * probability at most 2^-k. The number of rounds is derived from the requested
+ * confidence, e.g. 0.999999 needs 20 rounds.
+ *
+ * Floating-point results are compared with a tolerance scaled per row by
+ * |A| * (|B| * 1), the magnitude of the terms summed into that row, so rounding
+ * differences between multiplication orders are accepted while real errors are not.
+ *
+ * The matrix-vector products are row-parallel on the common ForkJoinPool.
+ */
+public class FreivaldsVerifier {
+
+    // Rows per leaf task are chosen so each leaf reads about this many elements
+    private static final int ELEMENTS_PER_TASK = 1 << 14;
+
+    private final int rounds;
+    private final double relativeTolerance;
+
+    /**
+     * @param confidence        required probability of detecting a wrong C, in (0, 1)
+     * @param relativeTolerance allowed error relative to the row magnitude, e.g. 1e-9
+     */
+    public FreivaldsVerifier(double confidence, double relativeTolerance) {
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("Confidence must be in (0, 1): " + confidence);
+        }
+        if (relativeTolerance < 0) {
+            throw new IllegalArgumentException("Tolerance must be non-negative: " + relativeTolerance);
+        }
+        this.rounds = Math.max(1, (int) Math.ceil(-Math.log(1 - confidence) / Math.log(2)));
+        this.relativeTolerance = relativeTolerance;
+    }
+
+    /**
+     * Confidence 1 - 2^-20 with relative tolerance 1e-9.
+     */
+    public FreivaldsVerifier() {
+        this(1 - 1e-6, 1e-9);
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns false if C is certainly not A * B (within tolerance), true if every round
+     * agreed.
+     */
+    public boolean verify(Matrix A, Matrix B, Matrix C) {
+        return firstMismatch(A, B, C) < 0;
+    }
+
+    /**
+     * Throws if the check fails; meant as a post-condition.
+     *
+     * @throws IllegalStateException if C is not A * B
+     */
+    public void check(Matrix A, Matrix B, Matrix C) {
+        int row = firstMismatch(A, B, C);
+        if (row >= 0) {
+            throw new IllegalStateException(
+                "Freivalds check failed: row " + row + " of C(" + C.rows + "x" + C.cols +
+                ") does not match A * B");
+        }
+    }
+
+    /**
+     * Index of a row found to be wrong, or -1 if all rounds agreed.
+     */
+    private int firstMismatch(Matrix A, Matrix B, Matrix C) {
+        if (A.cols != B.rows || C.rows != A.rows || C.cols != B.cols) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: C(" + C.rows + "x" + C.cols + ") cannot be A(" +
+                A.rows + "x" + A.cols + ") * B(" + B.rows + "x" + B.cols + ")");
+        }
+
+        double[] ones = new double[B.cols];
+        Arrays.fill(ones, 1.0);
+        double[] bound = multiply(A, multiply(B, ones, true), true);
+
+        SplittableRandom random = new SplittableRandom();
+        double[] r = new double[B.cols];
+        for (int round = 0; round < rounds; round++) {
+            for (int j = 0; j < r.length; j++)
+                r[j] = random.nextBoolean() ? 1.0 : -1.0;
+
+            double[] expected = multiply(A, multiply(B, r, false), false);
+            double[] actual = multiply(C, r, false);
+            for (int i = 0; i < actual.length; i++) {
+                // NaN differences fail this comparison as well
+                if (!(Math.abs(expected[i] - actual[i]) <= relativeTolerance * bound[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * y = M * x, or |M| * x when abs is set.
+     */
+    private static double[] multiply(Matrix M, double[] x, boolean abs) {
+        double[] y = new double[M.rows];
+        RowRangeTask.RowKernel kernel = (start, end) -> {
+            for (int i = start; i < end; i++) {
+                double[] row = M.data[i];
+                double sum = 0;
+                if (abs) {
+                    for (int j = 0; j < row.length; j++) sum += Math.abs(row[j]) * x[j];
+                } else {
+                    for (int j = 0; j < row.length; j++) sum += row[j] * x[j];
+                }
+                y[i] = sum;
+            }
+        };
+        int rowsPerTask = Math.max(1, ELEMENTS_PER_TASK / Math.max(1, M.cols));
+        if (M.rows <= rowsPerTask) {
+            kernel.computeRows(0, M.rows);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowRangeTask(kernel, 0, M.rows, rowsPerTask));
+        }
+        return y;
+    }
+}
@@ -0,0 +1,137 @@
+package algorithms;
+
+import matrix.Matrix;
+import java.util.Arrays;
+
+/**
+ * Shared in-place kernel for the GemmMultiplier implementations.
+ */
+final class GemmKernel {
+
+    private GemmKernel() {
+    }
+
+    static void checkDimensions(boolean transA, boolean transB, Matrix A, Matrix B, Matrix C) {
+        int m = transA ? A.cols : A.rows;
+        int p = transA ? A.rows : A.cols;
+        int pB = transB ? B.cols : B.rows;
+        int n = transB ? B.rows : B.cols;
+        if (p != pB) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: " + describe("A", A, transA) +
+                " cannot be multiplied by " + describe("B", B, transB));
+        }
+        if (C.rows != m || C.cols != n) {
+            throw new IllegalArgumentException(
+                "Destination C(" + C.rows + "x" + C.cols + ") must be " + m + "x" + n);
+        }
+    }
+
+    private static String describe(String name, Matrix X, boolean trans) {
+        return trans
+            ? name + "^T(" + X.cols + "x" + X.rows + ")"
+            : name + "(" + X.rows + "x" + X.cols + ")";
+    }
+
+    /**
+     * C[rStart..rEnd) x [cStart..cEnd) = A * B with the plain i-j-k dot-product loop of the
+     * Sequential and Fork/Join multiply paths. The alternative schedulers (thread pool,
+     * parallel stream, virtual threads) use it as their leaf so that benchmark differences
+     * between them and the Fork/Join engines come from scheduling alone.
+     */
+    static void multiplyBlock(Matrix A, Matrix B, Matrix C, int rStart, int rEnd, int cStart, int cEnd) {
+        for (int i = rStart; i < rEnd; i++) {
+            double[] a = A.data[i];
+            double[] c = C.data[i];
+            for (int j = cStart; j < cEnd; j++) {
+                double sum = 0;
+                for (int k = 0; k < A.cols; k++)
+                    sum += a[k] * B.data[k][j];
+                c[j] = sum;
+            }
+        }
+    }
+
+    /**
+     * Computes the block C[rStart..rEnd) x [cStart..cEnd) = alpha * op(A) * op(B) + beta * C,
+     * using the full inner dimension.
+     *
+     * Loop order per layout:
+     * - A: row i of op(A) is A.data[i] directly; for A^T, column i of A is gathered
+     *   once per output row into a p-length buffer so the inner loops stay contiguous.
+     * - B: rows of B are streamed in i-k-j order into a row accumulator; for B^T each
+     *   output element is a dot product of two contiguous rows (the cache-friendly case).
+     * alpha/beta are applied in the single store back to C.
+     */
+    static void compute(boolean transA, boolean transB,
+                        double alpha, Matrix A, Matrix B, double beta, Matrix C,
+                        int rStart, int rEnd, int cStart, int cEnd) {
+        int width = cEnd - cStart;
+        double[] acc = new double[width];
+        double[] aColumn = transA ? new double[A.rows] : null;
+
+        for (int i = rStart; i < rEnd; i++) {
+            productRow(transA, transB, A, B, i, cStart, width, acc, aColumn);
+            store(alpha, acc, beta, C.data[i], cStart, width);
+        }
+    }
+
+    /**
+     * Computes row i, columns [cStart, cStart + width), of op(A) * op(B) into acc.
+     *
+     * @param aColumn scratch buffer of length A.rows, only used (and required) when transA
+     */
+    static void productRow(boolean transA, boolean transB, Matrix A, Matrix B,
+                           int i, int cStart, int width, double[] acc, double[] aColumn) {
+        int p = transA ? A.rows : A.cols;
+        double[] aRow;
+        if (transA) {
+            for (int k = 0; k < p; k++) {
+                aColumn[k] = A.data[k][i];
+            }
+            aRow = aColumn;
+        } else {
+            aRow = A.data[i];
+        }
+
+        if (transB) {
+            for (int j = 0; j < width; j++) {
+                double[] bRow = B.data[cStart + j];
+                double sum = 0;
+                for (int k = 0; k < p; k++) {
+                    sum += aRow[k] * bRow[k];
+                }
+                acc[j] = sum;
+            }
+        } else {
+            Arrays.fill(acc, 0, width, 0.0);
+            for (int k = 0; k < p; k++) {
+                double a = aRow[k];
+                double[] bRow = B.data[k];
+                for (int j = 0; j < width; j++) {
+                    acc[j] += a * bRow[cStart + j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores c[cStart + j] = alpha * acc[j] + beta * c[cStart + j].
+     * With beta == 0 the old value is never read, matching BLAS semantics.
+     */
+    static void store(double alpha, double[] acc, double beta, double[] c, int cStart, int width) {
+        if (beta == 0.0) {
+            for (int j = 0; j < width; j++) {
+                c[cStart + j] = alpha * acc[j];
+            }
+        } else if (beta == 1.0) {
+            for (int j = 0; j < width; j++) {
+                c[cStart + j] += alpha * acc[j];
+            }
+        } else {
+            for (int j = 0; j < width; j++) {
+                c[cStart + j] = alpha * acc[j] + beta * c[cStart + j];
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package algorithms;
+
+import matrix.Matrix;
+
+/**
+ * BLAS-style general matrix multiply: C = alpha * op(A) * op(B) + beta * C,
+ * where op(X) is X or X^T.
+ *
+ * The result is accumulated in place into C, so expressions like C += A * B
+ * (alpha = 1, beta = 1) need neither a temporary product matrix nor a second
+ * pass to add it. As in BLAS, when beta is 0 the old contents of C are not read,
+ * so C may hold garbage (including NaN) on entry.
+ *
+ * Transposed operands are never materialized; the kernels read A and B in place
+ * with a loop order chosen for each combination of layouts.
+ */
+public interface GemmMultiplier extends MatrixMultiplier {
+
+    /**
+     * Computes C = alpha * op(A) * op(B) + beta * C in place.
+     *
+     * @param transA use A^T instead of A
+     * @param transB use B^T instead of B
+     * @throws IllegalArgumentException if op(A) is m x p, op(B) is not p x n or C is not m x n
+     */
+    void gemm(boolean transA, boolean transB, double alpha, Matrix A, Matrix B, double beta, Matrix C);
+
+    /**
+     * Computes C = alpha * A * B + beta * C in place.
+     */
+    default void gemm(double alpha, Matrix A, Matrix B, double beta, Matrix C) {
+        gemm(false, false, alpha, A, B, beta, C);
+    }
+
+    /**
+     * Returns op(A) * op(B) in a new matrix without materializing any transpose.
+     */
+    default Matrix multiply(Matrix A, boolean transA, Matrix B, boolean transB) {
+        Matrix C = new Matrix(transA ? A.cols : A.rows, transB ? B.rows : B.cols);
+        gemm(transA, transB, 1.0, A, B, 0.0, C);
+        return C;
+    }
+}
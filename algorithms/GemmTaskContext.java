@@ -0,0 +1,60 @@
+package algorithms;
+
+import matrix.Matrix;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Per-call state shared by the tasks of one in-place GEMM of the Fork/Join engines:
+ * the algorithm name recorded by leaf events, the opt-in task metrics and the
+ * progress listener of a progressive multiply.
+ *
+ * Gives the GEMM leaves the same sampled LeafTaskEvent and TaskMetrics hooks as the
+ * RowTask / BlockTask leaves of multiply.
+ */
+final class GemmTaskContext {
+
+    final String algorithm;
+    final TaskMetrics metrics;         // null unless TaskMetrics.ENABLED
+    final ProgressListener progress;   // null when not reporting
+
+    GemmTaskContext(String algorithm, TaskMetrics metrics, ProgressListener progress) {
+        this.algorithm = algorithm;
+        this.metrics = metrics;
+        this.progress = progress;
+    }
+
+    /**
+     * Called at the start of every task: counts it and stops if the listener cancelled.
+     */
+    void taskStarted(int depth) {
+        if (progress != null && progress.isCancelled()) {
+            throw new CancellationException();
+        }
+        if (TaskMetrics.ENABLED) {
+            metrics.taskCreated(depth);
+        }
+    }
+
+    /**
+     * Computes the leaf block [rStart, rEnd) x [cStart, cEnd) of C in place, then
+     * records it and reports it to the listener.
+     */
+    void leaf(boolean transA, boolean transB, double alpha, Matrix A, Matrix B, double beta, Matrix C,
+              int rStart, int rEnd, int cStart, int cEnd) {
+        long leafStart = TaskMetrics.ENABLED ? System.nanoTime() : 0L;
+        LeafTaskEvent leafEvent = new LeafTaskEvent();
+        boolean sampled = leafEvent.beginSampled();
+
+        GemmKernel.compute(transA, transB, alpha, A, B, beta, C, rStart, rEnd, cStart, cEnd);
+
+        if (TaskMetrics.ENABLED) {
+            metrics.leafExecuted(System.nanoTime() - leafStart);
+        }
+        if (sampled) {
+            leafEvent.record(algorithm, rStart, rEnd, cStart, cEnd, 0, transA ? A.rows : A.cols);
+        }
+        if (progress != null) {
+            progress.leafCompleted(rStart, rEnd, cStart, cEnd);
+        }
+    }
+}
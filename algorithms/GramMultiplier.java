@@ -0,0 +1,211 @@
+package algorithms;
+
+import matrix.Matrix;
+import matrix.SymmetricMatrix;
+import java.util.concurrent.*;
+
+/**
+ * Gram matrix A^T * A and column covariance for tall-skinny A (many rows, few columns).
+ *
+ * A row-parallel multiply of A^T by A would split the short output dimension; here
+ * the long dimension is split instead. Leaf tasks stream their block of rows into a
+ * packed upper triangle of the p x p result owned by the thread running them, so
+ * leaves never write shared memory. There is one such partial per worker thread
+ * rather than one per leaf: the number of p x p partials allocated and reduced is
+ * bounded by the pool size, however many leaves a tall A splits into. After the
+ * accumulation the per-thread partials are merged pairwise by a parallel reduction
+ * tree (MergeTask), so the p x p adds take log2(P) steps rather than P - 1.
+ *
+ * Inside a leaf, rows are taken CHUNK at a time and transposed into column buffers,
+ * so every entry (i, j) of the triangle is updated with one contiguous dot product
+ * per chunk rather than once per row.
+ *
+ * Covariance is computed in the same single pass. Each row is shifted by the first
+ * row of A before accumulating, and the sums of the shifted columns are kept along
+ * with the triangle; the centered result is S - s * s^T / m. Shifting by a sample
+ * value keeps the subtraction well conditioned even when column means are large
+ * compared to the spread.
+ */
+public class GramMultiplier {
+
+    // Rows transposed into column buffers at a time inside a leaf
+    private static final int CHUNK = 32;
+
+    private final int threshold;
+
+    /**
+     * @param threshold maximum number of rows of A accumulated by one leaf task
+     */
+    public GramMultiplier(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns A^T * A.
+     */
+    public SymmetricMatrix gram(Matrix A) {
+        return accumulate(A, false, "Gram").triangle;
+    }
+
+    /**
+     * Returns the sample covariance of the columns of A (rows are observations),
+     * normalized by m - 1.
+     *
+     * @throws IllegalArgumentException if A has fewer than two rows
+     */
+    public SymmetricMatrix covariance(Matrix A) {
+        if (A.rows < 2) {
+            throw new IllegalArgumentException("Covariance needs at least two rows, got " + A.rows);
+        }
+        Partial total = accumulate(A, true, "Covariance");
+        SymmetricMatrix cov = total.triangle;
+        int p = A.cols;
+        double m = A.rows;
+        for (int i = 0; i < p; i++) {
+            int off = cov.offset(i) - i;
+            for (int j = i; j < p; j++) {
+                cov.packed[off + j] = (cov.packed[off + j] - total.sums[i] * total.sums[j] / m) / (m - 1);
+            }
+        }
+        return cov;
+    }
+
+    private Partial accumulate(Matrix A, boolean center, String algorithm) {
+        double[] shift = center && A.rows > 0 ? A.data[0].clone() : null;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        // Keyed by thread: each partial is only touched by the thread that owns it
+        ConcurrentHashMap<Thread, Partial> partials = new ConcurrentHashMap<>();
+        pool.invoke(new GramTask(A, shift, partials, 0, A.rows));
+        Partial[] perThread = partials.values().toArray(new Partial[0]);
+        Partial total = perThread.length == 0 ? new Partial(A.cols, center)
+                      : pool.invoke(new MergeTask(perThread, 0, perThread.length));
+
+        event.end();
+        event.record(algorithm, A.cols, A.rows, A.cols, threshold, pool.getParallelism(), allocation);
+        return total;
+    }
+
+    /**
+     * Packed upper triangle of the (shifted) Gram matrix of the rows one thread has
+     * accumulated, plus the column sums of the shifted rows when centering, and that
+     * thread's chunk transpose buffers.
+     */
+    private static final class Partial {
+        final SymmetricMatrix triangle;
+        final double[] sums;
+        final double[][] columns;
+
+        Partial(int p, boolean center) {
+            triangle = new SymmetricMatrix(p);
+            sums = center ? new double[p] : null;
+            columns = new double[p][CHUNK];
+        }
+
+        void add(Partial other) {
+            double[] a = triangle.packed, b = other.triangle.packed;
+            for (int x = 0; x < a.length; x++) a[x] += b[x];
+            if (sums != null) {
+                for (int j = 0; j < sums.length; j++) sums[j] += other.sums[j];
+            }
+        }
+    }
+
+    /**
+     * Reduction tree over the per-thread partials: each task merges its two halves and
+     * adds the right result into the left one.
+     */
+    private static final class MergeTask extends RecursiveTask<Partial> {
+        private final Partial[] partials;
+        private final int start, end;
+
+        MergeTask(Partial[] partials, int start, int end) {
+            this.partials = partials;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (end - start == 1) {
+                return partials[start];
+            }
+            int mid = (start + end) / 2;
+            MergeTask left = new MergeTask(partials, start, mid);
+            left.fork();
+            Partial right = new MergeTask(partials, mid, end).compute();
+            Partial merged = left.join();
+            merged.add(right);
+            return merged;
+        }
+    }
+
+    private class GramTask extends RecursiveAction {
+        private final Matrix A;
+        private final double[] shift;  // null unless centering
+        private final ConcurrentHashMap<Thread, Partial> partials;
+        private final int start, end;
+
+        GramTask(Matrix A, double[] shift, ConcurrentHashMap<Thread, Partial> partials, int start, int end) {
+            this.A = A;
+            this.shift = shift;
+            this.partials = partials;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                leaf();
+                return;
+            }
+            int mid = (start + end) / 2;
+            invokeAll(new GramTask(A, shift, partials, start, mid),
+                      new GramTask(A, shift, partials, mid, end));
+        }
+
+        private void leaf() {
+            int p = A.cols;
+            Partial partial = partials.computeIfAbsent(Thread.currentThread(), t -> new Partial(p, shift != null));
+            double[] packed = partial.triangle.packed;
+            double[][] columns = partial.columns;
+
+            for (int r0 = start; r0 < end; r0 += CHUNK) {
+                int rows = Math.min(CHUNK, end - r0);
+                // Transpose the chunk so each column is contiguous
+                for (int r = 0; r < rows; r++) {
+                    double[] row = A.data[r0 + r];
+                    for (int j = 0; j < p; j++) {
+                        columns[j][r] = shift != null ? row[j] - shift[j] : row[j];
+                    }
+                }
+                if (shift != null) {
+                    for (int j = 0; j < p; j++) {
+                        double[] col = columns[j];
+                        double s = 0;
+                        for (int r = 0; r < rows; r++) s += col[r];
+                        partial.sums[j] += s;
+                    }
+                }
+                for (int i = 0; i < p; i++) {
+                    double[] ci = columns[i];
+                    int off = partial.triangle.offset(i) - i;
+                    for (int j = i; j < p; j++) {
+                        double[] cj = columns[j];
+                        double dot = 0;
+                        for (int r = 0; r < rows; r++) dot += ci[r] * cj[r];
+                        packed[off + j] += dot;
+                    }
+                }
+            }
+        }
+    }
+}
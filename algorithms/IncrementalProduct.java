@@ -0,0 +1,145 @@
+package algorithms;
+
+import matrix.Matrix;
+import matrix.MatrixOps;
+import matrix.Transpose;
+
+/**
+ * Maintains C = A * B under low-rank changes to A without redoing the full product.
+ *
+ * Supported updates:
+ * - Row replacement: k rows of A change, only the k corresponding rows of C are
+ *   recomputed, O(k * p * n) instead of O(m * p * n).
+ * - Rank-k update: A += U * V^T, applied as C += U * (V^T * B), O(k * (p + m) * n).
+ *
+ * The products are delegated to the configured MatrixMultiplier, so the parallel
+ * Fork/Join engines are used for the update terms as well. If the engine is a
+ * GemmMultiplier the update terms are accumulated into A and C in place.
+ *
+ * Each incremental update accumulates a little floating-point error in C. After
+ * maxUpdatesBeforeRecompute updates the product is recomputed from scratch.
+ *
+ * A and B are copied on construction; the matrices returned by the getters are the
+ * live internal state and must be treated as read-only.
+ */
+public class IncrementalProduct {
+
+    private final MatrixMultiplier engine;
+    private final int maxUpdatesBeforeRecompute;
+    private final Matrix A, B;
+    private Matrix C;
+    private int updatesSinceRecompute;
+    private long fullRecomputes;
+
+    public IncrementalProduct(Matrix A, Matrix B, MatrixMultiplier engine, int maxUpdatesBeforeRecompute) {
+        if (A.cols != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: A(" + A.rows + "x" + A.cols +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+        if (maxUpdatesBeforeRecompute <= 0) {
+            throw new IllegalArgumentException(
+                "maxUpdatesBeforeRecompute must be positive: " + maxUpdatesBeforeRecompute);
+        }
+        this.engine = engine;
+        this.maxUpdatesBeforeRecompute = maxUpdatesBeforeRecompute;
+        this.A = A.copy();
+        this.B = B.copy();
+        recompute();
+    }
+
+    /**
+     * Replaces row i of A and updates the matching row of C.
+     */
+    public void replaceRow(int i, double[] row) {
+        Matrix rows = new Matrix(1, A.cols);
+        System.arraycopy(row, 0, rows.data[0], 0, A.cols);
+        replaceRows(new int[]{i}, rows);
+    }
+
+    /**
+     * Replaces rows of A and recomputes only the matching rows of C.
+     *
+     * @param rowIndices indices of the rows of A to replace
+     * @param newRows    matrix whose i-th row replaces row rowIndices[i] of A
+     */
+    public void replaceRows(int[] rowIndices, Matrix newRows) {
+        if (newRows.rows != rowIndices.length || newRows.cols != A.cols) {
+            throw new IllegalArgumentException(
+                "Replacement rows must be " + rowIndices.length + "x" + A.cols +
+                ", got " + newRows.rows + "x" + newRows.cols);
+        }
+        for (int r : rowIndices) {
+            if (r < 0 || r >= A.rows) {
+                throw new IndexOutOfBoundsException("Row " + r + " outside A(" + A.rows + "x" + A.cols + ")");
+            }
+        }
+
+        // (k x p) * (p x n): only the changed rows of the product
+        Matrix newProductRows = engine.multiply(newRows, B);
+        for (int r = 0; r < rowIndices.length; r++) {
+            System.arraycopy(newRows.data[r], 0, A.data[rowIndices[r]], 0, A.cols);
+            System.arraycopy(newProductRows.data[r], 0, C.data[rowIndices[r]], 0, C.cols);
+        }
+        // Rows are recomputed exactly, so they add no drift
+    }
+
+    /**
+     * Applies A += U * V^T and updates C accordingly.
+     *
+     * @param U m x k matrix (m = rows of A)
+     * @param V p x k matrix (p = columns of A)
+     */
+    public void rankUpdate(Matrix U, Matrix V) {
+        if (U.rows != A.rows || V.rows != A.cols || U.cols != V.cols) {
+            throw new IllegalArgumentException(
+                "Rank update needs U(" + A.rows + "xk) and V(" + A.cols + "xk), got U(" +
+                U.rows + "x" + U.cols + ") and V(" + V.rows + "x" + V.cols + ")");
+        }
+        // C += U * (V^T * B): the k x n intermediate keeps this O(k * (p + m) * n)
+        if (engine instanceof GemmMultiplier) {
+            GemmMultiplier gemm = (GemmMultiplier) engine;
+            Matrix VtB = gemm.multiply(V, true, B, false);
+            gemm.gemm(1.0, U, VtB, 1.0, C);
+            gemm.gemm(false, true, 1.0, U, V, 1.0, A);
+        } else {
+            Matrix Vt = Transpose.transpose(V);
+            Matrix VtB = engine.multiply(Vt, B);
+            MatrixOps.addInPlace(C, engine.multiply(U, VtB));
+            MatrixOps.addInPlace(A, engine.multiply(U, Vt));
+        }
+
+        if (++updatesSinceRecompute >= maxUpdatesBeforeRecompute) {
+            recompute();
+        }
+    }
+
+    /**
+     * Recomputes C = A * B from scratch and resets the drift counter.
+     */
+    public void recompute() {
+        C = engine.multiply(A, B);
+        updatesSinceRecompute = 0;
+        fullRecomputes++;
+    }
+
+    public Matrix getA() {
+        return A;
+    }
+
+    public Matrix getB() {
+        return B;
+    }
+
+    public Matrix getC() {
+        return C;
+    }
+
+    public int getUpdatesSinceRecompute() {
+        return updatesSinceRecompute;
+    }
+
+    public long getFullRecomputes() {
+        return fullRecomputes;
+    }
+}
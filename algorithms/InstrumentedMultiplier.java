@@ -0,0 +1,13 @@
+package algorithms;
+
+/**
+ * A multiplier that can report task-level metrics for its most recent multiply call.
+ */
+public interface InstrumentedMultiplier extends MatrixMultiplier {
+
+    /**
+     * @return metrics of the last multiply, or null if instrumentation is disabled
+     *         (see {@link TaskMetrics#ENABLED}) or no multiply has run yet
+     */
+    TaskMetrics.Snapshot getLastMetrics();
+}
@@ -0,0 +1,282 @@
+package algorithms;
+
+import matrix.IntMatrix;
+import matrix.LongMatrix;
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+/**
+ * Exact integer matrix multiplication, plain and modulo p.
+ *
+ * Exact products accumulate in long. Before multiplying, the largest possible entry
+ * |C| <= n * max|A| * max|B| is checked once: if it fits in a long the kernel uses
+ * plain multiply-adds. Otherwise, for int inputs, every product still fits in a long
+ * and the sums are kept exact by counting the signed overflows of each accumulator
+ * in a carry word (a 128-bit sum in two longs); only an entry whose final value does
+ * not fit in a long throws, however the partial sums wander. For long inputs every
+ * multiply-add goes through Math.multiplyExact / Math.addExact. Either way an
+ * ArithmeticException is thrown rather than returning a silently wrapped result.
+ *
+ * Modular products use delayed reduction. Inputs are reduced into [0, p) and, with
+ * p <= 2^31, each product is below 2^62, so several products can be added to a long
+ * accumulator before it has to be reduced. The batch size is derived from p (1 for
+ * p close to 2^31, 9 for p = 10^9 + 7, over 2^31 for p <= 2^16), so the % is paid
+ * once per batch instead of once per multiply-add.
+ *
+ * Rows are computed in parallel on the common ForkJoinPool with at most threshold
+ * rows per leaf task; each leaf uses the i-k-j loop order over a row accumulator.
+ */
+public class IntegerMultiplier {
+
+    // Largest modulus for which (p - 1)^2 plus a reduced accumulator fits in a long
+    public static final long MAX_MODULUS = 1L << 31;
+
+    private final int threshold;
+
+    public IntegerMultiplier(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * Exact A * B.
+     *
+     * @throws ArithmeticException if a result entry does not fit in a long
+     */
+    public LongMatrix multiply(IntMatrix A, IntMatrix B) {
+        checkDimensions(A.rows, A.cols, B.rows, B.cols);
+        boolean checked = overflowPossible(A.cols, maxAbs(A), maxAbs(B));
+        LongMatrix C = new LongMatrix(A.rows, B.cols);
+        run("Integer", A.rows, A.cols, B.cols, (start, end) -> {
+            // High words of the row accumulator: net count of signed wraps per entry
+            long[] carry = checked ? new long[B.cols] : null;
+            for (int i = start; i < end; i++) {
+                long[] c = C.data[i];
+                int[] a = A.data[i];
+                for (int k = 0; k < A.cols; k++) {
+                    long aik = a[k];
+                    if (aik == 0) continue;
+                    int[] b = B.data[k];
+                    if (checked) {
+                        // |aik * b[j]| <= 2^62, so only the sum can wrap
+                        for (int j = 0; j < B.cols; j++) {
+                            long product = aik * b[j];
+                            long sum = c[j] + product;
+                            if (((c[j] ^ sum) & (product ^ sum)) < 0) {
+                                carry[j] += product < 0 ? -1 : 1;
+                            }
+                            c[j] = sum;
+                        }
+                    } else {
+                        for (int j = 0; j < B.cols; j++)
+                            c[j] += aik * b[j];
+                    }
+                }
+                if (checked) {
+                    // An entry fits iff its wraps cancel, which also leaves carry zeroed for the next row
+                    for (int j = 0; j < B.cols; j++) {
+                        if (carry[j] != 0) {
+                            throw new ArithmeticException("long overflow in entry (" + i + ", " + j + ")");
+                        }
+                    }
+                }
+            }
+        });
+        return C;
+    }
+
+    /**
+     * Exact A * B.
+     *
+     * @throws ArithmeticException if a product or partial sum does not fit in a long
+     */
+    public LongMatrix multiply(LongMatrix A, LongMatrix B) {
+        checkDimensions(A.rows, A.cols, B.rows, B.cols);
+        boolean checked = overflowPossible(A.cols, maxAbs(A), maxAbs(B));
+        LongMatrix C = new LongMatrix(A.rows, B.cols);
+        run("Long", A.rows, A.cols, B.cols, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                long[] c = C.data[i];
+                long[] a = A.data[i];
+                for (int k = 0; k < A.cols; k++) {
+                    long aik = a[k];
+                    if (aik == 0) continue;
+                    long[] b = B.data[k];
+                    if (checked) {
+                        for (int j = 0; j < B.cols; j++)
+                            c[j] = Math.addExact(c[j], Math.multiplyExact(aik, b[j]));
+                    } else {
+                        for (int j = 0; j < B.cols; j++)
+                            c[j] += aik * b[j];
+                    }
+                }
+            }
+        });
+        return C;
+    }
+
+    /**
+     * A * B mod modulus, with entries in [0, modulus). Negative inputs are allowed.
+     *
+     * @param modulus between 1 and 2^31 - 1
+     */
+    public IntMatrix multiplyMod(IntMatrix A, IntMatrix B, int modulus) {
+        checkDimensions(A.rows, A.cols, B.rows, B.cols);
+        checkModulus(modulus);
+        long[][] b = new long[B.rows][];
+        for (int k = 0; k < B.rows; k++)
+            b[k] = reduce(B.data[k], modulus);
+        IntMatrix C = new IntMatrix(A.rows, B.cols);
+        runMod(A.rows, A.cols, b, B.cols, modulus, i -> reduce(A.data[i], modulus), (i, acc) -> {
+            int[] c = C.data[i];
+            for (int j = 0; j < acc.length; j++)
+                c[j] = (int) acc[j];
+        });
+        return C;
+    }
+
+    /**
+     * A * B mod modulus, with entries in [0, modulus). Negative inputs are allowed.
+     *
+     * @param modulus between 1 and MAX_MODULUS (2^31)
+     */
+    public LongMatrix multiplyMod(LongMatrix A, LongMatrix B, long modulus) {
+        checkDimensions(A.rows, A.cols, B.rows, B.cols);
+        checkModulus(modulus);
+        long[][] b = new long[B.rows][];
+        for (int k = 0; k < B.rows; k++)
+            b[k] = reduce(B.data[k], modulus);
+        LongMatrix C = new LongMatrix(A.rows, B.cols);
+        runMod(A.rows, A.cols, b, B.cols, modulus, i -> reduce(A.data[i], modulus),
+               (i, acc) -> System.arraycopy(acc, 0, C.data[i], 0, acc.length));
+        return C;
+    }
+
+    /**
+     * Number of products below (p - 1)^2 that can be added to a value below p before
+     * the sum may exceed Long.MAX_VALUE.
+     */
+    static long reductionBatch(long modulus) {
+        long max = modulus - 1;
+        if (max == 0) return Long.MAX_VALUE;
+        return Math.max(1, (Long.MAX_VALUE - max) / (max * max));
+    }
+
+    private interface RowLoader {
+        long[] load(int i);
+    }
+
+    private interface RowStore {
+        void store(int i, long[] acc);
+    }
+
+    private void runMod(int rows, int inner, long[][] b, int cols, long modulus,
+                        RowLoader loadA, RowStore store) {
+        long batch = reductionBatch(modulus);
+        run("Integer mod p", rows, inner, cols, (start, end) -> {
+            long[] acc = new long[cols];
+            for (int i = start; i < end; i++) {
+                Arrays.fill(acc, 0L);
+                long[] a = loadA.load(i);
+                long pending = 0;
+                for (int k = 0; k < inner; k++) {
+                    long aik = a[k];
+                    if (aik == 0) continue;
+                    long[] bk = b[k];
+                    for (int j = 0; j < cols; j++)
+                        acc[j] += aik * bk[j];
+                    // Every entry of acc received one more product: reduce once a batch is full
+                    if (++pending == batch) {
+                        for (int j = 0; j < cols; j++)
+                            acc[j] %= modulus;
+                        pending = 0;
+                    }
+                }
+                for (int j = 0; j < cols; j++)
+                    acc[j] %= modulus;
+                store.store(i, acc);
+            }
+        });
+    }
+
+    private void run(String algorithm, int rows, int inner, int cols, RowRangeTask.RowKernel kernel) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        try {
+            pool.invoke(new RowRangeTask(kernel, 0, rows, threshold));
+        } catch (ArithmeticException e) {
+            // A task failing on a worker is rethrown as a message-less copy; report the original
+            throw e.getCause() instanceof ArithmeticException ? (ArithmeticException) e.getCause() : e;
+        }
+
+        event.end();
+        event.record(algorithm, rows, inner, cols, threshold, pool.getParallelism(), allocation);
+    }
+
+    private static long[] reduce(int[] row, long modulus) {
+        long[] r = new long[row.length];
+        for (int j = 0; j < row.length; j++)
+            r[j] = Math.floorMod((long) row[j], modulus);
+        return r;
+    }
+
+    private static long[] reduce(long[] row, long modulus) {
+        long[] r = new long[row.length];
+        for (int j = 0; j < row.length; j++)
+            r[j] = Math.floorMod(row[j], modulus);
+        return r;
+    }
+
+    /**
+     * True unless n * maxA * maxB is known to fit in a long. A negative max means an
+     * entry was Long.MIN_VALUE, whose absolute value does not fit either.
+     */
+    private static boolean overflowPossible(long n, long maxA, long maxB) {
+        if (maxA < 0 || maxB < 0) return true;
+        try {
+            Math.multiplyExact(Math.multiplyExact(maxA, maxB), n);
+            return false;
+        } catch (ArithmeticException e) {
+            return true;
+        }
+    }
+
+    private static long maxAbs(IntMatrix m) {
+        long max = 0;
+        for (int[] row : m.data)
+            for (int v : row)
+                max = Math.max(max, Math.abs((long) v));
+        return max;
+    }
+
+    private static long maxAbs(LongMatrix m) {
+        long max = 0;
+        for (long[] row : m.data)
+            for (long v : row) {
+                if (v == Long.MIN_VALUE) return -1;
+                max = Math.max(max, Math.abs(v));
+            }
+        return max;
+    }
+
+    private static void checkDimensions(int rowsA, int colsA, int rowsB, int colsB) {
+        if (colsA != rowsB) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: A(" + rowsA + "x" + colsA +
+                ") cannot be multiplied by B(" + rowsB + "x" + colsB + ")");
+        }
+    }
+
+    private static void checkModulus(long modulus) {
+        if (modulus < 1 || modulus > MAX_MODULUS) {
+            throw new IllegalArgumentException(
+                "Modulus must be between 1 and 2^31, got " + modulus);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package algorithms;
+
+import java.util.concurrent.ThreadLocalRandom;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Sampled JFR event for a leaf task of the Fork/Join multipliers.
+ *
+ * Leaves are short and numerous, so only about one in SAMPLE_RATE leaves is recorded
+ * (-Dmatrix.jfr.leafSampleRate=N, default 16; 1 records every leaf).
+ */
+@Name("matrix.LeafTask")
+@Label("Matrix Leaf Task")
+@Category({"Matrix", "Multiply"})
+@Description("Sampled base-case block computed by a Fork/Join multiplier")
+public class LeafTaskEvent extends Event {
+
+    static final int SAMPLE_RATE = Math.max(1, Integer.getInteger("matrix.jfr.leafSampleRate", 16));
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Row Start")
+    int rowStart;
+
+    @Label("Row End")
+    int rowEnd;
+
+    @Label("Column Start")
+    int colStart;
+
+    @Label("Column End")
+    int colEnd;
+
+    @Label("K Start")
+    int kStart;
+
+    @Label("K End")
+    int kEnd;
+
+    /**
+     * Starts timing if this leaf was picked by the sampler and a recording is active.
+     *
+     * @return true if the caller should fill in and commit the event
+     */
+    boolean beginSampled() {
+        if (!isEnabled()) return false;
+        if (SAMPLE_RATE > 1 && ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) return false;
+        begin();
+        return true;
+    }
+
+    void record(String algorithm, int rowStart, int rowEnd, int colStart, int colEnd,
+                int kStart, int kEnd) {
+        end();
+        if (!shouldCommit()) return;
+        this.algorithm = algorithm;
+        this.rowStart = rowStart;
+        this.rowEnd = rowEnd;
+        this.colStart = colStart;
+        this.colEnd = colEnd;
+        this.kStart = kStart;
+        this.kEnd = kEnd;
+        commit();
+    }
+}
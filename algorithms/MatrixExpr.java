@@ -0,0 +1,211 @@
+package algorithms;
+
+import matrix.Matrix;
+
+/**
+ * Lazy matrix expression.
+ *
+ * Operations build a DAG of multiply, add, scale, Hadamard and transpose nodes
+ * instead of computing anything; {@link #evaluate()} then runs the whole
+ * expression at once. For example
+ *
+ *   Matrix R = MatrixExpr.of(A).times(B).plus(C).hadamard(D).scale(0.5).evaluate();
+ *
+ * computes each row of A * B into a row buffer and applies "+ C", "o D" and
+ * "* 0.5" to it before the single store into R. No temporary matrix is created
+ * for A * B or for any of the intermediate sums.
+ *
+ * See ExprEvaluation for the evaluation strategy. Nodes are immutable and may be
+ * shared; a subexpression used more than once is computed once per evaluation.
+ * Leaf matrices are read, never written, and must not change while evaluating.
+ */
+public abstract class MatrixExpr {
+
+    static final int DEFAULT_THRESHOLD = 64;
+
+    public final int rows;
+    public final int cols;
+
+    MatrixExpr(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    public static MatrixExpr of(Matrix m) {
+        return new Leaf(m);
+    }
+
+    public MatrixExpr times(MatrixExpr other) {
+        if (cols != other.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: (" + rows + "x" + cols +
+                ") cannot be multiplied by (" + other.rows + "x" + other.cols + ")");
+        }
+        return new Product(this, other);
+    }
+
+    public MatrixExpr times(Matrix other) {
+        return times(of(other));
+    }
+
+    public MatrixExpr plus(MatrixExpr other) {
+        checkSameShape(other, "added to");
+        return new Sum(this, other);
+    }
+
+    public MatrixExpr plus(Matrix other) {
+        return plus(of(other));
+    }
+
+    /**
+     * Element-wise (Hadamard) product.
+     */
+    public MatrixExpr hadamard(MatrixExpr other) {
+        checkSameShape(other, "multiplied element-wise by");
+        return new Hadamard(this, other);
+    }
+
+    public MatrixExpr hadamard(Matrix other) {
+        return hadamard(of(other));
+    }
+
+    public MatrixExpr scale(double factor) {
+        return new Scaled(this, factor);
+    }
+
+    public MatrixExpr transpose() {
+        return new Transposed(this);
+    }
+
+    /**
+     * Evaluates the expression on the common ForkJoinPool with the default leaf
+     * size of 64 rows.
+     */
+    public Matrix evaluate() {
+        return evaluate(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Evaluates the expression into a new matrix.
+     *
+     * @param threshold maximum number of output rows computed by one leaf task
+     */
+    public Matrix evaluate(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        return new ExprEvaluation(this, threshold).run();
+    }
+
+    abstract MatrixExpr[] children();
+
+    private void checkSameShape(MatrixExpr other, String verb) {
+        if (rows != other.rows || cols != other.cols) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: (" + rows + "x" + cols + ") cannot be " +
+                verb + " (" + other.rows + "x" + other.cols + ")");
+        }
+    }
+
+    private static final MatrixExpr[] NO_CHILDREN = new MatrixExpr[0];
+
+    static final class Leaf extends MatrixExpr {
+        final Matrix matrix;
+
+        Leaf(Matrix matrix) {
+            super(matrix.rows, matrix.cols);
+            this.matrix = matrix;
+        }
+
+        @Override
+        MatrixExpr[] children() {
+            return NO_CHILDREN;
+        }
+    }
+
+    static final class Product extends MatrixExpr {
+        final MatrixExpr left, right;
+
+        Product(MatrixExpr left, MatrixExpr right) {
+            super(left.rows, right.cols);
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        MatrixExpr[] children() {
+            return new MatrixExpr[]{left, right};
+        }
+    }
+
+    static final class Sum extends MatrixExpr {
+        final MatrixExpr left, right;
+
+        Sum(MatrixExpr left, MatrixExpr right) {
+            super(left.rows, left.cols);
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        MatrixExpr[] children() {
+            return new MatrixExpr[]{left, right};
+        }
+    }
+
+    static final class Hadamard extends MatrixExpr {
+        final MatrixExpr left, right;
+
+        Hadamard(MatrixExpr left, MatrixExpr right) {
+            super(left.rows, left.cols);
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        MatrixExpr[] children() {
+            return new MatrixExpr[]{left, right};
+        }
+    }
+
+    static final class Scaled extends MatrixExpr {
+        final MatrixExpr child;
+        final double factor;
+
+        Scaled(MatrixExpr child, double factor) {
+            super(child.rows, child.cols);
+            this.child = child;
+            this.factor = factor;
+        }
+
+        @Override
+        public MatrixExpr scale(double factor) {
+            // (x * a) * b == x * (a * b): keep a single pass over x
+            return new Scaled(child, this.factor * factor);
+        }
+
+        @Override
+        MatrixExpr[] children() {
+            return new MatrixExpr[]{child};
+        }
+    }
+
+    static final class Transposed extends MatrixExpr {
+        final MatrixExpr child;
+
+        Transposed(MatrixExpr child) {
+            super(child.cols, child.rows);
+            this.child = child;
+        }
+
+        @Override
+        public MatrixExpr transpose() {
+            return child;
+        }
+
+        @Override
+        MatrixExpr[] children() {
+            return new MatrixExpr[]{child};
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package algorithms;
+
+import matrix.Matrix;
+
+/**
+ * Integer powers A^k of a square matrix.
+ *
+ * REPEATED_SQUARING uses binary exponentiation: about 2 * log2(k) products instead
+ * of k - 1. Every product is a gemm with beta = 0 into one of three buffers (result,
+ * current square, scratch) that are swapped after each step, so only those three
+ * n x n matrices are allocated however large k is.
+ *
+ * SYMMETRIC_EIGEN is for symmetric A. It diagonalizes A = Q * L * Q^T once with the
+ * cyclic Jacobi method and returns Q * L^k * Q^T, so its cost does not depend on k
+ * at all; it pays off for very large k or when many powers of the same matrix are
+ * needed. The Jacobi sweeps are sequential; the final product uses the engine.
+ */
+public class MatrixPower {
+
+    public enum Method { REPEATED_SQUARING, SYMMETRIC_EIGEN }
+
+    // Jacobi stops once the off-diagonal mass drops below this fraction of the total
+    private static final double JACOBI_TOLERANCE = 1e-22;
+    private static final int MAX_JACOBI_SWEEPS = 100;
+
+    // Relative tolerance for the symmetry check of SYMMETRIC_EIGEN
+    private static final double SYMMETRY_TOLERANCE = 1e-12;
+
+    private final GemmMultiplier engine;
+
+    public MatrixPower(GemmMultiplier engine) {
+        this.engine = engine;
+    }
+
+    public Matrix power(Matrix A, long k) {
+        return power(A, k, Method.REPEATED_SQUARING);
+    }
+
+    /**
+     * Returns A^k as a new matrix; A^0 is the identity. A is not modified.
+     *
+     * @throws IllegalArgumentException if A is not square, k is negative, or
+     *                                  SYMMETRIC_EIGEN is requested for a non-symmetric A
+     */
+    public Matrix power(Matrix A, long k, Method method) {
+        if (A.rows != A.cols) {
+            throw new IllegalArgumentException(
+                "Matrix power needs a square matrix, got " + A.rows + "x" + A.cols);
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("Exponent must be non-negative: " + k);
+        }
+        if (k == 0) {
+            return identity(A.rows);
+        }
+        return method == Method.SYMMETRIC_EIGEN ? symmetricEigenPower(A, k) : repeatedSquaring(A, k);
+    }
+
+    private Matrix repeatedSquaring(Matrix A, long k) {
+        int n = A.rows;
+        Matrix square = A.copy();   // A^(2^i)
+        Matrix result = null;       // product of the squares for the bits seen so far
+        Matrix scratch = new Matrix(n, n);
+
+        while (true) {
+            if ((k & 1) != 0) {
+                if (result == null) {
+                    // Lowest set bit: start from a copy instead of multiplying by I
+                    result = square.copy();
+                } else {
+                    engine.gemm(1.0, result, square, 0.0, scratch);
+                    Matrix t = result; result = scratch; scratch = t;
+                }
+            }
+            k >>>= 1;
+            if (k == 0) return result;
+            engine.gemm(1.0, square, square, 0.0, scratch);
+            Matrix t = square; square = scratch; scratch = t;
+        }
+    }
+
+    private Matrix symmetricEigenPower(Matrix A, long k) {
+        int n = A.rows;
+        double scale = 0;
+        for (double[] row : A.data)
+            for (double v : row) scale = Math.max(scale, Math.abs(v));
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (Math.abs(A.data[i][j] - A.data[j][i]) > SYMMETRY_TOLERANCE * scale) {
+                    throw new IllegalArgumentException(
+                        "SYMMETRIC_EIGEN needs a symmetric matrix: A(" + i + "," + j + ") != A(" + j + "," + i + ")");
+                }
+            }
+        }
+
+        Matrix a = A.copy();
+        Matrix Qt = identity(n);  // rows are the eigenvectors
+        jacobi(a, Qt);
+
+        // A^k = Q * L^k * Q^T: scale row i of Q^T by lambda_i^k, then multiply by Q
+        Matrix scaled = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            double lambdaK = Math.pow(a.data[i][i], k);
+            double[] q = Qt.data[i];
+            double[] s = scaled.data[i];
+            for (int j = 0; j < n; j++) s[j] = lambdaK * q[j];
+        }
+        Matrix C = new Matrix(n, n);
+        engine.gemm(true, false, 1.0, Qt, scaled, 0.0, C);
+        return C;
+    }
+
+    /**
+     * Cyclic Jacobi eigenvalue iteration on the symmetric matrix a, in place. On return
+     * the diagonal of a holds the eigenvalues and row i of Qt the matching unit
+     * eigenvector.
+     */
+    static void jacobi(Matrix a, Matrix Qt) {
+        int n = a.rows;
+        double[][] m = a.data;
+        double[][] q = Qt.data;
+        double total = 0;
+        for (double[] row : m)
+            for (double v : row) total += v * v;
+
+        for (int sweep = 0; sweep < MAX_JACOBI_SWEEPS; sweep++) {
+            double off = 0;
+            for (int i = 0; i < n; i++)
+                for (int j = i + 1; j < n; j++) off += m[i][j] * m[i][j];
+            if (off <= JACOBI_TOLERANCE * total) return;
+
+            for (int p = 0; p < n; p++) {
+                for (int r = p + 1; r < n; r++) {
+                    double apr = m[p][r];
+                    if (apr == 0) continue;
+                    // Rotation angle that zeroes m[p][r]
+                    double theta = (m[r][r] - m[p][p]) / (2 * apr);
+                    double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+                    if (theta == 0) t = 1;
+                    double c = 1 / Math.sqrt(t * t + 1);
+                    double s = t * c;
+
+                    // m := J^T * m * J, columns then rows
+                    for (int i = 0; i < n; i++) {
+                        double mip = m[i][p], mir = m[i][r];
+                        m[i][p] = c * mip - s * mir;
+                        m[i][r] = s * mip + c * mir;
+                    }
+                    double[] rowP = m[p], rowR = m[r];
+                    for (int j = 0; j < n; j++) {
+                        double mpj = rowP[j], mrj = rowR[j];
+                        rowP[j] = c * mpj - s * mrj;
+                        rowR[j] = s * mpj + c * mrj;
+                    }
+                    // Accumulate the eigenvectors as rows of Q^T
+                    double[] qp = q[p], qr = q[r];
+                    for (int j = 0; j < n; j++) {
+                        double qpj = qp[j], qrj = qr[j];
+                        qp[j] = c * qpj - s * qrj;
+                        qr[j] = s * qpj + c * qrj;
+                    }
+                }
+            }
+        }
+    }
+
+    private static Matrix identity(int n) {
+        Matrix I = new Matrix(n, n);
+        for (int i = 0; i < n; i++) I.data[i][i] = 1.0;
+        return I;
+    }
+}
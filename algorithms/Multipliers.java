@@ -0,0 +1,84 @@
+package algorithms;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Names and factory for the general-purpose MatrixMultiplier implementations, shared by
+ * the console benchmark and the GUI so both list the same algorithms.
+ */
+public final class Multipliers {
+
+    public static final String SEQUENTIAL = "Sequential";
+    public static final String FORK_JOIN_ROW = "ForkJoin Row-based";
+    public static final String FORK_JOIN_BLOCK = "ForkJoin Block-based";
+    public static final String THREAD_POOL = "ThreadPool Striped";
+    public static final String PARALLEL_STREAM = "Parallel Stream";
+    public static final String VIRTUAL_THREADS = "Virtual Thread Tiles";
+
+    private static final List<String> NAMES = List.of(
+        SEQUENTIAL, FORK_JOIN_ROW, FORK_JOIN_BLOCK, THREAD_POOL, PARALLEL_STREAM, VIRTUAL_THREADS);
+
+    private Multipliers() {
+    }
+
+    /**
+     * All algorithm names, Sequential (the speedup baseline) first.
+     */
+    public static List<String> names() {
+        return NAMES;
+    }
+
+    /**
+     * Creates the named multiplier. The threshold is the Fork/Join leaf size for the
+     * Fork/Join engines and the tile side for virtual-thread tiles; the other algorithms
+     * ignore it.
+     *
+     * @throws IllegalArgumentException for an unknown name
+     */
+    public static MatrixMultiplier create(String name, int threshold) {
+        switch (name) {
+            case SEQUENTIAL: return new SequentialMultiplier();
+            case FORK_JOIN_ROW: return new ForkJoinRowMultiplier(threshold);
+            case FORK_JOIN_BLOCK: return new ForkJoinBlockMultiplier(threshold);
+            case THREAD_POOL: return new ThreadPoolRowMultiplier();
+            case PARALLEL_STREAM: return new ParallelStreamMultiplier();
+            case VIRTUAL_THREADS: return new VirtualThreadTileMultiplier(threshold);
+            default: throw new IllegalArgumentException("Unknown algorithm: " + name);
+        }
+    }
+
+    /**
+     * Creates the named multiplier limited to the parallelism of the given pool: the
+     * Fork/Join engines and the parallel stream run on the pool and the striped executor
+     * gets that many threads. Sequential ignores the pool.
+     *
+     * @throws IllegalArgumentException for an unknown name or one that cannot be bounded
+     *                                  (see {@link #supportsPool})
+     */
+    public static MatrixMultiplier create(String name, int threshold, ForkJoinPool pool) {
+        switch (name) {
+            case SEQUENTIAL: return new SequentialMultiplier();
+            case FORK_JOIN_ROW: return new ForkJoinRowMultiplier(threshold, pool);
+            case FORK_JOIN_BLOCK: return new ForkJoinBlockMultiplier(threshold, pool);
+            case THREAD_POOL: return new ThreadPoolRowMultiplier(pool.getParallelism());
+            case PARALLEL_STREAM: return new ParallelStreamMultiplier(pool);
+            case VIRTUAL_THREADS:
+                throw new IllegalArgumentException(name + " starts one thread per tile and cannot be bounded by a pool");
+            default: throw new IllegalArgumentException("Unknown algorithm: " + name);
+        }
+    }
+
+    public static boolean usesThreshold(String name) {
+        return name.equals(FORK_JOIN_ROW) || name.equals(FORK_JOIN_BLOCK) || name.equals(VIRTUAL_THREADS);
+    }
+
+    /**
+     * True if the parallel algorithm's thread count can be fixed with
+     * {@link #create(String, int, ForkJoinPool)}.
+     */
+    public static boolean supportsPool(String name) {
+        return name.equals(FORK_JOIN_ROW) || name.equals(FORK_JOIN_BLOCK)
+            || name.equals(THREAD_POOL) || name.equals(PARALLEL_STREAM);
+    }
+}
@@ -0,0 +1,73 @@
+package algorithms;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import matrix.Matrix;
+
+/**
+ * JFR event recorded around every MatrixMultiplier.multiply call.
+ *
+ * The event's built-in duration covers the whole multiply. When no recording has the
+ * event enabled, isEnabled() is false and the multipliers skip the allocation probe,
+ * so the only cost left is constructing this (escape-analysed) object.
+ */
+@Name("matrix.Multiply")
+@Label("Matrix Multiply")
+@Category({"Matrix", "Multiply"})
+@Description("One matrix multiplication performed by a MatrixMultiplier")
+public class MultiplyEvent extends Event {
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Rows of A")
+    int rowsA;
+
+    @Label("Columns of A")
+    int colsA;
+
+    @Label("Columns of B")
+    int colsB;
+
+    @Label("Threshold")
+    @Description("Fork/Join leaf threshold, 0 for non-recursive algorithms")
+    int threshold;
+
+    @Label("Parallelism")
+    int parallelism;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the caller and pool workers, -1 if unavailable")
+    @DataAmount(DataAmount.BYTES)
+    long allocated;
+
+    /**
+     * Fills in the fields and commits the event if the recording wants it.
+     * Must be called after end().
+     */
+    void record(String algorithm, Matrix A, Matrix B, int threshold, int parallelism,
+                AllocationProbe allocation) {
+        record(algorithm, A.rows, A.cols, B.cols, threshold, parallelism, allocation);
+    }
+
+    /**
+     * Variant for operands that are not dense Matrix instances (packed, banded, ...)
+     * or that enter transposed, where the shape is that of op(A) * op(B).
+     */
+    void record(String algorithm, int rowsA, int colsA, int colsB, int threshold, int parallelism,
+                AllocationProbe allocation) {
+        if (!shouldCommit()) return;
+        this.algorithm = algorithm;
+        this.rowsA = rowsA;
+        this.colsA = colsA;
+        this.colsB = colsB;
+        this.threshold = threshold;
+        this.parallelism = parallelism;
+        this.allocated = allocation != null ? allocation.allocatedBytes() : -1;
+        commit();
+    }
+}
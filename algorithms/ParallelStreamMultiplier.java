@@ -0,0 +1,57 @@
+package algorithms;
+
+import matrix.Matrix;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Matrix multiplier that computes one row of C per element of IntStream.parallel().
+ *
+ * The stream framework splits the row range itself (on the common ForkJoinPool,
+ * sized from the number of cores) and there is no threshold to tune. This is the
+ * shortest parallel version to write, so it is the reference for how much the
+ * hand-written Fork/Join decompositions actually gain.
+ *
+ * A stream started from inside a ForkJoinPool runs on that pool, so when a pool is
+ * given the stream is launched as a task of it, which bounds its parallelism.
+ */
+public class ParallelStreamMultiplier implements MatrixMultiplier {
+
+    private static final String ALGORITHM = "Parallel Stream";
+
+    private final ForkJoinPool pool;
+
+    public ParallelStreamMultiplier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelStreamMultiplier(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Matrix multiply(Matrix A, Matrix B) {
+        if (A.cols != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: A(" + A.rows + "x" + A.cols +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+        Matrix C = new Matrix(A.rows, B.cols);
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        Runnable rows = () -> IntStream.range(0, A.rows).parallel()
+                .forEach(i -> GemmKernel.multiplyBlock(A, B, C, i, i + 1, 0, B.cols));
+        if (pool == ForkJoinPool.commonPool()) {
+            rows.run();
+        } else {
+            pool.submit(rows).join();
+        }
+
+        event.end();
+        event.record(ALGORITHM, A, B, 0, pool.getParallelism(), allocation);
+        return C;
+    }
+}
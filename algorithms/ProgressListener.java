@@ -0,0 +1,25 @@
+package algorithms;
+
+/**
+ * Receives the leaves of a {@link ProgressiveMultiplier} as they finish and can cancel
+ * the multiply.
+ *
+ * Both methods are called from the pool's worker threads, concurrently, so
+ * implementations must be thread-safe and cheap: leafCompleted runs once per leaf and
+ * isCancelled once per task.
+ */
+public interface ProgressListener {
+
+    /**
+     * The block [rowStart, rowEnd) x [colStart, colEnd) of the result is final.
+     */
+    void leafCompleted(int rowStart, int rowEnd, int colStart, int colEnd);
+
+    /**
+     * Checked before every task; once true the remaining tasks are skipped and the
+     * multiply throws CancellationException.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
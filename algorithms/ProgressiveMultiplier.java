@@ -0,0 +1,30 @@
+package algorithms;
+
+import matrix.Matrix;
+
+/**
+ * A multiplier that writes the product into a caller-supplied matrix leaf by leaf, so
+ * finished blocks can be shown while the rest is still being computed.
+ *
+ * Implementations may use a different decomposition than their multiply(A, B), e.g.
+ * because its partial results are not final until combined; getProgressiveAlgorithm()
+ * names what actually runs, so its timings are not mistaken for the plain multiply's.
+ */
+public interface ProgressiveMultiplier extends MatrixMultiplier {
+
+    /**
+     * Computes C = A * B in place, reporting every finished leaf to the listener. Each
+     * cell of C is written by exactly one leaf, so a block is final once reported.
+     *
+     * @throws IllegalArgumentException if A.cols != B.rows or C is not A.rows x B.cols
+     * @throws java.util.concurrent.CancellationException if the listener cancelled;
+     *         C then holds only the leaves reported so far
+     */
+    void multiply(Matrix A, Matrix B, Matrix C, ProgressListener listener);
+
+    /**
+     * Name of the engine used by {@link #multiply(Matrix, Matrix, Matrix, ProgressListener)},
+     * as recorded in its MultiplyEvent.
+     */
+    String getProgressiveAlgorithm();
+}
@@ -0,0 +1,38 @@
+package algorithms;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the row range [start, end) in half until at most threshold rows remain and
+ * hands each leaf range to a RowKernel.
+ *
+ * Used by the structured-matrix multipliers, whose leaves write disjoint rows of a
+ * preallocated result, so no combine step or synchronization is needed.
+ */
+final class RowRangeTask extends RecursiveAction {
+
+    interface RowKernel {
+        void computeRows(int start, int end);
+    }
+
+    private final RowKernel kernel;
+    private final int start, end, threshold;
+
+    RowRangeTask(RowKernel kernel, int start, int end, int threshold) {
+        this.kernel = kernel;
+        this.start = start;
+        this.end = end;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start <= threshold) {
+            kernel.computeRows(start, end);
+            return;
+        }
+        int mid = (start + end) / 2;
+        invokeAll(new RowRangeTask(kernel, start, mid, threshold),
+                  new RowRangeTask(kernel, mid, end, threshold));
+    }
+}
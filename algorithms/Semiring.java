@@ -0,0 +1,32 @@
+package algorithms;
+
+/**
+ * Algebraic structure a SemiringMultiplier multiplies over: C(i, j) is the "sum"
+ * (add) over k of the "products" (multiply) A(i, k) and B(k, j).
+ *
+ * zero() must be the identity of add and annihilate multiply (multiply(zero, x) ==
+ * zero), which lets the kernels skip zero entries of A. one() is the identity of
+ * multiply and is used for the identity matrix in closures.
+ *
+ * Everything works on primitive doubles, so no boxing happens in the inner loops.
+ * Implementations should override accumulateRow with a loop that inlines add and
+ * multiply; the default calls them per element through the interface.
+ */
+public interface Semiring {
+
+    double zero();
+
+    double one();
+
+    double add(double a, double b);
+
+    double multiply(double a, double b);
+
+    /**
+     * c[j] = add(c[j], multiply(a, b[j])) for j in [from, to).
+     */
+    default void accumulateRow(double a, double[] b, double[] c, int from, int to) {
+        for (int j = from; j < to; j++)
+            c[j] = add(c[j], multiply(a, b[j]));
+    }
+}
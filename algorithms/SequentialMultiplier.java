@@ -2,7 +2,9 @@ package algorithms;
 
 import matrix.Matrix;
 
-public class SequentialMultiplier implements MatrixMultiplier {
+public class SequentialMultiplier implements GemmMultiplier {
+
+    private static final String ALGORITHM = "Sequential";
 
     @Override
     public Matrix multiply(Matrix A, Matrix B) {
@@ -11,6 +13,10 @@ public class SequentialMultiplier implements MatrixMultiplier {
                 "Matrix dimensions incompatible: A(" + A.rows + "x" + A.cols + 
                 ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
         }
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(null) : null;
+        event.begin();
+
         Matrix C = new Matrix(A.rows, B.cols);
 
         for (int i = 0; i < A.rows; i++) {
@@ -21,6 +27,22 @@ public class SequentialMultiplier implements MatrixMultiplier {
                 C.data[i][j] = sum;
             }
         }
+
+        event.end();
+        event.record(ALGORITHM, A, B, 0, 1, allocation);
         return C;
     }
+
+    @Override
+    public void gemm(boolean transA, boolean transB, double alpha, Matrix A, Matrix B, double beta, Matrix C) {
+        GemmKernel.checkDimensions(transA, transB, A, B, C);
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(null) : null;
+        event.begin();
+
+        GemmKernel.compute(transA, transB, alpha, A, B, beta, C, 0, C.rows, 0, C.cols);
+
+        event.end();
+        event.record(ALGORITHM + " GEMM", C.rows, transA ? A.rows : A.cols, C.cols, 0, 1, allocation);
+    }
 }
@@ -0,0 +1,102 @@
+package algorithms;
+
+/**
+ * The common semirings, each with a hand-specialized accumulateRow loop.
+ *
+ * - PLUS_TIMES: ordinary matrix product.
+ * - MIN_PLUS (tropical): shortest paths; +infinity means "no edge".
+ * - MAX_PLUS: longest / critical paths in DAGs; -infinity means "no edge".
+ * - MAX_MIN: bottleneck (widest) paths; -infinity means "no edge".
+ */
+public enum StandardSemiring implements Semiring {
+
+    PLUS_TIMES(0.0, 1.0) {
+        @Override
+        public double add(double a, double b) {
+            return a + b;
+        }
+
+        @Override
+        public double multiply(double a, double b) {
+            return a * b;
+        }
+
+        @Override
+        public void accumulateRow(double a, double[] b, double[] c, int from, int to) {
+            for (int j = from; j < to; j++)
+                c[j] += a * b[j];
+        }
+    },
+
+    MIN_PLUS(Double.POSITIVE_INFINITY, 0.0) {
+        @Override
+        public double add(double a, double b) {
+            return Math.min(a, b);
+        }
+
+        @Override
+        public double multiply(double a, double b) {
+            return a + b;
+        }
+
+        @Override
+        public void accumulateRow(double a, double[] b, double[] c, int from, int to) {
+            for (int j = from; j < to; j++)
+                c[j] = Math.min(c[j], a + b[j]);
+        }
+    },
+
+    MAX_PLUS(Double.NEGATIVE_INFINITY, 0.0) {
+        @Override
+        public double add(double a, double b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        public double multiply(double a, double b) {
+            return a + b;
+        }
+
+        @Override
+        public void accumulateRow(double a, double[] b, double[] c, int from, int to) {
+            for (int j = from; j < to; j++)
+                c[j] = Math.max(c[j], a + b[j]);
+        }
+    },
+
+    MAX_MIN(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY) {
+        @Override
+        public double add(double a, double b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        public double multiply(double a, double b) {
+            return Math.min(a, b);
+        }
+
+        @Override
+        public void accumulateRow(double a, double[] b, double[] c, int from, int to) {
+            for (int j = from; j < to; j++)
+                c[j] = Math.max(c[j], Math.min(a, b[j]));
+        }
+    };
+
+    private final double zero;
+    private final double one;
+
+    StandardSemiring(double zero, double one) {
+        this.zero = zero;
+        this.one = one;
+    }
+
+    @Override
+    public double zero() {
+        return zero;
+    }
+
+    @Override
+    public double one() {
+        return one;
+    }
+}
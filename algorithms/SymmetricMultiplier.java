@@ -0,0 +1,129 @@
+package algorithms;
+
+import matrix.Matrix;
+import matrix.SymmetricMatrix;
+import java.util.concurrent.*;
+
+/**
+ * Multiplication with a symmetric left operand (BLAS SYMM) and the symmetric rank-k
+ * product A * A^T (BLAS SYRK).
+ *
+ * As a MatrixMultiplier, multiply(A, B) treats A as symmetric and reads only its upper
+ * triangle, so A's lower triangle may hold anything (e.g. a half-filled matrix).
+ * multiply(SymmetricMatrix, Matrix) works directly from packed storage.
+ *
+ * syrk(A) computes only the upper triangle of A * A^T, half the dot products of a
+ * general multiply, and returns it packed.
+ *
+ * All kernels are row-parallel on the common ForkJoinPool with at most threshold rows
+ * per leaf task.
+ */
+public class SymmetricMultiplier implements MatrixMultiplier {
+
+    private static final String ALGORITHM = "Symmetric (SYMM)";
+
+    private final int threshold;
+
+    public SymmetricMultiplier(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * C = A * B where A is symmetric and only its upper triangle is read.
+     */
+    @Override
+    public Matrix multiply(Matrix A, Matrix B) {
+        if (A.rows != A.cols || A.cols != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: symmetric A(" + A.rows + "x" + A.cols +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+        int n = A.rows;
+        return run(n, B, (i, row) -> {
+            // Column i above the diagonal stands in for row i left of it
+            for (int k = 0; k < i; k++) row[k] = A.data[k][i];
+            System.arraycopy(A.data[i], i, row, i, n - i);
+        });
+    }
+
+    /**
+     * C = A * B with A in packed symmetric storage.
+     */
+    public Matrix multiply(SymmetricMatrix A, Matrix B) {
+        if (A.n != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: symmetric A(" + A.n + "x" + A.n +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+        return run(A.n, B, A::getRow);
+    }
+
+    /**
+     * Returns A * A^T. Only the upper triangle is computed: element (i, j), j >= i, is
+     * the dot product of rows i and j of A.
+     */
+    public SymmetricMatrix syrk(Matrix A) {
+        SymmetricMatrix C = new SymmetricMatrix(A.rows);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        pool.invoke(new RowRangeTask((start, end) -> {
+            for (int i = start; i < end; i++) {
+                double[] a = A.data[i];
+                int off = C.offset(i) - i;
+                for (int j = i; j < A.rows; j++) {
+                    double[] b = A.data[j];
+                    double sum = 0;
+                    for (int k = 0; k < A.cols; k++)
+                        sum += a[k] * b[k];
+                    C.packed[off + j] = sum;
+                }
+            }
+        }, 0, A.rows, threshold));
+
+        event.end();
+        event.record("Symmetric rank-k (SYRK)", A.rows, A.cols, A.rows, threshold,
+                     pool.getParallelism(), allocation);
+        return C;
+    }
+
+    /**
+     * Fills row[0 .. n) with row i of the symmetric operand.
+     */
+    private interface RowSource {
+        void load(int i, double[] row);
+    }
+
+    private Matrix run(int n, Matrix B, RowSource source) {
+        Matrix C = new Matrix(n, B.cols);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        pool.invoke(new RowRangeTask((start, end) -> {
+            double[] row = new double[n];
+            for (int i = start; i < end; i++) {
+                source.load(i, row);
+                double[] c = C.data[i];
+                for (int k = 0; k < n; k++) {
+                    double a = row[k];
+                    double[] b = B.data[k];
+                    for (int j = 0; j < B.cols; j++)
+                        c[j] += a * b[j];
+                }
+            }
+        }, 0, n, threshold));
+
+        event.end();
+        event.record(ALGORITHM, n, n, B.cols, threshold, pool.getParallelism(), allocation);
+        return C;
+    }
+}
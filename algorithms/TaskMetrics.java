@@ -0,0 +1,133 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters for the recursive Fork/Join tasks.
+ *
+ * Instrumentation is enabled with -Dmatrix.metrics=true. ENABLED is a static final
+ * constant, so when it is false the JIT folds every guarded block away and the
+ * tasks run exactly as if the counters did not exist.
+ *
+ * One TaskMetrics instance is created per multiply call and shared by all tasks of
+ * that call. Counters use LongAdder / atomics so concurrent leaves do not contend
+ * on a single cache line.
+ */
+public final class TaskMetrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("matrix.metrics");
+
+    // Leaf time histogram: bucket b counts leaves that took [2^b, 2^(b+1)) nanoseconds
+    static final int HISTOGRAM_BUCKETS = 40;
+
+    private final ForkJoinPool pool;
+    private final long stealCountBefore;
+    private final LongAdder tasksCreated = new LongAdder();
+    private final LongAdder leavesExecuted = new LongAdder();
+    private final LongAdder bytesAllocated = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final AtomicLongArray leafTimeHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+    TaskMetrics(ForkJoinPool pool) {
+        this.pool = pool;
+        this.stealCountBefore = pool.getStealCount();
+    }
+
+    void taskCreated(int depth) {
+        tasksCreated.increment();
+        int current;
+        while (depth > (current = maxDepth.get())) {
+            if (maxDepth.compareAndSet(current, depth)) break;
+        }
+    }
+
+    void leafExecuted(long nanos) {
+        leavesExecuted.increment();
+        int bucket = 63 - Long.numberOfLeadingZeros(Math.max(nanos, 1));
+        leafTimeHistogram.incrementAndGet(Math.min(bucket, HISTOGRAM_BUCKETS - 1));
+    }
+
+    void matrixAllocated(int rows, int cols) {
+        bytesAllocated.add(matrixBytes(rows, cols));
+    }
+
+    /**
+     * Approximate heap footprint of a Matrix: the outer array of row references
+     * plus one double[] per row (16-byte array headers, 8-byte references).
+     */
+    static long matrixBytes(int rows, int cols) {
+        return 16L + 8L * rows + rows * (16L + 8L * cols);
+    }
+
+    Snapshot snapshot(String algorithm) {
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            histogram[i] = leafTimeHistogram.get(i);
+        }
+        // The pool only folds per-worker steal counts into the total lazily,
+        // so this is a sample rather than an exact per-call figure
+        long steals = Math.max(0, pool.getStealCount() - stealCountBefore);
+        return new Snapshot(algorithm, tasksCreated.sum(), leavesExecuted.sum(),
+                maxDepth.get(), bytesAllocated.sum(), steals, histogram);
+    }
+
+    /**
+     * Immutable view of the counters collected during one multiply call.
+     */
+    public static final class Snapshot {
+        public final String algorithm;
+        public final long tasksCreated;
+        public final long leavesExecuted;
+        public final int maxDepth;
+        public final long bytesAllocated;
+        public final long steals;
+        private final long[] leafTimeHistogram;
+
+        Snapshot(String algorithm, long tasksCreated, long leavesExecuted, int maxDepth,
+                 long bytesAllocated, long steals, long[] leafTimeHistogram) {
+            this.algorithm = algorithm;
+            this.tasksCreated = tasksCreated;
+            this.leavesExecuted = leavesExecuted;
+            this.maxDepth = maxDepth;
+            this.bytesAllocated = bytesAllocated;
+            this.steals = steals;
+            this.leafTimeHistogram = leafTimeHistogram;
+        }
+
+        /**
+         * @return count of leaves whose execution time fell in [2^bucket, 2^(bucket+1)) ns
+         */
+        public long leafTimeBucket(int bucket) {
+            return leafTimeHistogram[bucket];
+        }
+
+        public int histogramBuckets() {
+            return leafTimeHistogram.length;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%s metrics: tasks=%d, leaves=%d, maxDepth=%d, allocated=%.2f MB, steals~%d%n",
+                    algorithm, tasksCreated, leavesExecuted, maxDepth,
+                    bytesAllocated / (1024.0 * 1024.0), steals));
+            sb.append("  leaf time histogram:");
+            for (int b = 0; b < leafTimeHistogram.length; b++) {
+                if (leafTimeHistogram[b] == 0) continue;
+                sb.append(String.format(" [%s,%s)=%d",
+                        formatNanos(1L << b), formatNanos(1L << (b + 1)), leafTimeHistogram[b]));
+            }
+            return sb.toString();
+        }
+
+        private static String formatNanos(long nanos) {
+            if (nanos < 1_000) return nanos + "ns";
+            if (nanos < 1_000_000) return (nanos / 1_000) + "us";
+            if (nanos < 1_000_000_000) return (nanos / 1_000_000) + "ms";
+            return (nanos / 1_000_000_000) + "s";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package algorithms;
+
+import matrix.Matrix;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Matrix multiplier on a fixed-size ThreadPoolExecutor with static row striping.
+ *
+ * The rows of C are cut into one contiguous stripe per thread up front, and each
+ * stripe is submitted as a single task. Scheduling overhead is minimal (one task per
+ * thread, no splitting, no stealing), but there is no load balancing: the multiply
+ * finishes when the slowest stripe does, so any interference on one core shows up
+ * directly in the total time. It is the baseline the work-stealing engines are
+ * measured against.
+ *
+ * The pool's threads are daemons and time out when idle, so a multiplier that is no
+ * longer used does not keep threads alive; shutdown() releases them immediately.
+ */
+public class ThreadPoolRowMultiplier implements MatrixMultiplier {
+
+    private static final String ALGORITHM = "ThreadPool Striped";
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final int threads;
+    private final ThreadPoolExecutor pool;
+
+    public ThreadPoolRowMultiplier(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                           new LinkedBlockingQueue<>(), runnable -> {
+            Thread t = new Thread(runnable, AllocationProbe.WORKER_PREFIX + "striped-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * One thread per available processor.
+     */
+    public ThreadPoolRowMultiplier() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public Matrix multiply(Matrix A, Matrix B) {
+        if (A.cols != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: A(" + A.rows + "x" + A.cols +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+        Matrix C = new Matrix(A.rows, B.cols);
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.startWorkers() : null;
+        event.begin();
+
+        List<Future<?>> stripes = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int start = (int) ((long) A.rows * t / threads);
+            int end = (int) ((long) A.rows * (t + 1) / threads);
+            if (start < end) {
+                stripes.add(pool.submit(() -> GemmKernel.multiplyBlock(A, B, C, start, end, 0, B.cols)));
+            }
+        }
+        awaitAll(stripes);
+
+        event.end();
+        event.record(ALGORITHM, A, B, 0, threads, allocation);
+        return C;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Waits for every task; on failure cancels the rest and rethrows the task's exception.
+     */
+    static void awaitAll(List<? extends Future<?>> futures) {
+        try {
+            for (Future<?> f : futures) f.get();
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while multiplying");
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
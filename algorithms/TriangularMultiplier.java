@@ -0,0 +1,85 @@
+package algorithms;
+
+import matrix.Matrix;
+import matrix.TriangularMatrix;
+import java.util.concurrent.*;
+
+/**
+ * Multiplication with a triangular left operand (BLAS TRMM).
+ *
+ * Row i of an upper triangular A only has non-zeros in columns i..n-1 (0..i for lower),
+ * so row i of C = A * B sums just those rows of B: about half the work of a general
+ * multiply.
+ *
+ * As a MatrixMultiplier, multiply(A, B) treats A as triangular on the side chosen at
+ * construction and never reads the other triangle. multiply(TriangularMatrix, Matrix)
+ * works from packed storage and uses the side recorded in the packed matrix.
+ *
+ * Rows are computed in parallel on the common ForkJoinPool with at most threshold
+ * rows per leaf task.
+ */
+public class TriangularMultiplier implements MatrixMultiplier {
+
+    private final int threshold;
+    private final boolean upper;
+
+    public TriangularMultiplier(int threshold, boolean upper) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.threshold = threshold;
+        this.upper = upper;
+    }
+
+    @Override
+    public Matrix multiply(Matrix A, Matrix B) {
+        if (A.rows != A.cols || A.cols != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: triangular A(" + A.rows + "x" + A.cols +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+        int n = A.rows;
+        return run(n, upper, B, (i, k) -> A.data[i][k]);
+    }
+
+    public Matrix multiply(TriangularMatrix A, Matrix B) {
+        if (A.n != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: triangular A(" + A.n + "x" + A.n +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+        return run(A.n, A.upper, B, (i, k) -> A.packed[A.offset(i) + k - A.rowStart(i)]);
+    }
+
+    private interface Element {
+        double get(int i, int k);
+    }
+
+    private Matrix run(int n, boolean upper, Matrix B, Element A) {
+        Matrix C = new Matrix(n, B.cols);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.start(pool) : null;
+        event.begin();
+
+        pool.invoke(new RowRangeTask((start, end) -> {
+            for (int i = start; i < end; i++) {
+                double[] c = C.data[i];
+                int kStart = upper ? i : 0;
+                int kEnd = upper ? n : i + 1;
+                for (int k = kStart; k < kEnd; k++) {
+                    double a = A.get(i, k);
+                    double[] b = B.data[k];
+                    for (int j = 0; j < B.cols; j++)
+                        c[j] += a * b[j];
+                }
+            }
+        }, 0, n, threshold));
+
+        event.end();
+        event.record(upper ? "Triangular upper (TRMM)" : "Triangular lower (TRMM)",
+                     n, n, B.cols, threshold, pool.getParallelism(), allocation);
+        return C;
+    }
+}
@@ -0,0 +1,35 @@
+package algorithms;
+
+import matrix.Matrix;
+
+/**
+ * Decorator that checks every result of the wrapped multiplier with a
+ * FreivaldsVerifier before returning it.
+ *
+ * The check costs a few O(n^2) matrix-vector products, small next to the O(n^3)
+ * multiply, so it can stay enabled in production as a post-condition.
+ */
+public class VerifyingMultiplier implements MatrixMultiplier {
+
+    private final MatrixMultiplier delegate;
+    private final FreivaldsVerifier verifier;
+
+    public VerifyingMultiplier(MatrixMultiplier delegate, FreivaldsVerifier verifier) {
+        this.delegate = delegate;
+        this.verifier = verifier;
+    }
+
+    public VerifyingMultiplier(MatrixMultiplier delegate) {
+        this(delegate, new FreivaldsVerifier());
+    }
+
+    /**
+     * @throws IllegalStateException if the delegate returned a wrong product
+     */
+    @Override
+    public Matrix multiply(Matrix A, Matrix B) {
+        Matrix C = delegate.multiply(A, B);
+        verifier.check(A, B, C);
+        return C;
+    }
+}
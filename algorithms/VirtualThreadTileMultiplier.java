@@ -0,0 +1,106 @@
+package algorithms;
+
+import matrix.Matrix;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Matrix multiplier that starts one thread per tileSize x tileSize tile of C.
+ *
+ * On Java 21+ the threads are virtual threads from
+ * Executors.newVirtualThreadPerTaskExecutor(), so thousands of tiles cost little more
+ * than thousands of Fork/Join tasks and blocking inside a tile would not pin a carrier.
+ * The project targets Java 17, where that API does not exist; the executor is looked up
+ * reflectively and, when absent, a cached pool of platform threads is used instead,
+ * which shows what thread-per-task costs without virtual threads.
+ *
+ * Each multiply is a structured scope: the executor is created for the call, every
+ * tile is joined before returning, and a failing tile cancels the others.
+ *
+ * The JFR allocation figure covers the "matrix-" platform workers. Virtual threads
+ * have no per-thread allocation counter, so on Java 21+ it is a lower bound.
+ */
+public class VirtualThreadTileMultiplier implements MatrixMultiplier {
+
+    private static final String ALGORITHM = "Virtual Thread Tiles";
+    private static final Method NEW_VIRTUAL_EXECUTOR = lookupVirtualExecutor();
+
+    private final int tileSize;
+
+    /**
+     * @param tileSize side of the square tile of C computed by one thread
+     */
+    public VirtualThreadTileMultiplier(int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+        }
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * True if the running JVM provides virtual threads; false means platform threads
+     * are used.
+     */
+    public static boolean isVirtualThreadsAvailable() {
+        return NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    @Override
+    public Matrix multiply(Matrix A, Matrix B) {
+        if (A.cols != B.rows) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: A(" + A.rows + "x" + A.cols +
+                ") cannot be multiplied by B(" + B.rows + "x" + B.cols + ")");
+        }
+        Matrix C = new Matrix(A.rows, B.cols);
+
+        MultiplyEvent event = new MultiplyEvent();
+        AllocationProbe allocation = event.isEnabled() ? AllocationProbe.startWorkers() : null;
+        event.begin();
+
+        ExecutorService executor = newExecutor();
+        try {
+            List<Future<?>> tiles = new ArrayList<>();
+            for (int r = 0; r < A.rows; r += tileSize) {
+                for (int c = 0; c < B.cols; c += tileSize) {
+                    int rStart = r, cStart = c;
+                    int rEnd = Math.min(A.rows, r + tileSize);
+                    int cEnd = Math.min(B.cols, c + tileSize);
+                    tiles.add(executor.submit(() -> GemmKernel.multiplyBlock(A, B, C, rStart, rEnd, cStart, cEnd)));
+                }
+            }
+            ThreadPoolRowMultiplier.awaitAll(tiles);
+        } finally {
+            executor.shutdown();
+        }
+
+        event.end();
+        event.record(ALGORITHM, A, B, tileSize, Runtime.getRuntime().availableProcessors(), allocation);
+        return C;
+    }
+
+    private static ExecutorService newExecutor() {
+        if (NEW_VIRTUAL_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Fall through to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread t = new Thread(runnable, AllocationProbe.WORKER_PREFIX + "tile-worker");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static Method lookupVirtualExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package matrix;
+
+import java.util.Random;
+
+/**
+ * Banded rows x cols matrix: element (i, j) may be non-zero only when
+ * -lower <= j - i <= upper.
+ *
+ * Each row stores its lower + upper + 1 diagonals in band[i], with (i, j) at
+ * band[i][j - i + lower]. Slots that fall outside the matrix near the corners are
+ * unused and stay zero.
+ */
+public class BandedMatrix {
+    public final int rows;
+    public final int cols;
+    public final int lower;
+    public final int upper;
+    public final double[][] band;
+
+    public BandedMatrix(int rows, int cols, int lower, int upper) {
+        if (lower < 0 || upper < 0) {
+            throw new IllegalArgumentException(
+                "Bandwidths must be non-negative, got lower=" + lower + ", upper=" + upper);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.lower = lower;
+        this.upper = upper;
+        this.band = new double[rows][lower + upper + 1];
+    }
+
+    /**
+     * Copies the band of a dense matrix; elements outside the band are not read.
+     */
+    public static BandedMatrix fromDense(Matrix m, int lower, int upper) {
+        BandedMatrix b = new BandedMatrix(m.rows, m.cols, lower, upper);
+        for (int i = 0; i < b.rows; i++) {
+            int first = b.firstColumn(i);
+            int length = b.endColumn(i) - first;
+            if (length > 0)
+                System.arraycopy(m.data[i], first, b.band[i], first - i + lower, length);
+        }
+        return b;
+    }
+
+    public static BandedMatrix random(int rows, int cols, int lower, int upper) {
+        BandedMatrix b = new BandedMatrix(rows, cols, lower, upper);
+        Random rand = new Random();
+        for (int i = 0; i < rows; i++)
+            for (int j = b.firstColumn(i); j < b.endColumn(i); j++)
+                b.band[i][j - i + lower] = rand.nextDouble() * 10;
+        return b;
+    }
+
+    /**
+     * First column of row i inside both the band and the matrix.
+     */
+    public int firstColumn(int i) {
+        return Math.min(cols, Math.max(0, i - lower));
+    }
+
+    /**
+     * One past the last column of row i inside both the band and the matrix.
+     * Equal to firstColumn(i) for rows whose band lies entirely outside the matrix.
+     */
+    public int endColumn(int i) {
+        return Math.max(firstColumn(i), Math.min(cols, i + upper + 1));
+    }
+
+    public double get(int i, int j) {
+        if (j - i < -lower || j - i > upper) return 0.0;
+        return band[i][j - i + lower];
+    }
+
+    public void set(int i, int j, double value) {
+        if (j - i < -lower || j - i > upper) {
+            throw new IllegalArgumentException(
+                "(" + i + ", " + j + ") is outside the band [-" + lower + ", +" + upper + "]");
+        }
+        band[i][j - i + lower] = value;
+    }
+
+    public Matrix toDense() {
+        Matrix m = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            int first = firstColumn(i);
+            int length = endColumn(i) - first;
+            if (length > 0)
+                System.arraycopy(band[i], first - i + lower, m.data[i], first, length);
+        }
+        return m;
+    }
+}
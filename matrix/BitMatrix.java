@@ -0,0 +1,119 @@
+package matrix;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Boolean matrix packed 64 entries per long.
+ *
+ * Row i occupies words bits[i][0 .. wordsPerRow), with entry (i, j) in bit (j & 63)
+ * of word j >>> 6. Bits beyond cols in the last word of a row are always zero, so
+ * word-level operations (OR, AND, popcount) never have to mask them.
+ */
+public class BitMatrix {
+    public final int rows;
+    public final int cols;
+    public final int wordsPerRow;
+    public final long[][] bits;
+
+    public BitMatrix(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.bits = new long[rows][wordsPerRow];
+    }
+
+    public static BitMatrix identity(int n) {
+        BitMatrix m = new BitMatrix(n, n);
+        for (int i = 0; i < n; i++) m.set(i, i, true);
+        return m;
+    }
+
+    /**
+     * Random matrix in which each entry is true with the given probability.
+     */
+    public static BitMatrix random(int rows, int cols, double density) {
+        BitMatrix m = new BitMatrix(rows, cols);
+        Random rand = new Random();
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                if (rand.nextDouble() < density) m.set(i, j, true);
+        return m;
+    }
+
+    /**
+     * Entry (i, j) is true where m.data[i][j] != 0.
+     */
+    public static BitMatrix fromDense(Matrix m) {
+        BitMatrix b = new BitMatrix(m.rows, m.cols);
+        for (int i = 0; i < m.rows; i++)
+            for (int j = 0; j < m.cols; j++)
+                if (m.data[i][j] != 0) b.set(i, j, true);
+        return b;
+    }
+
+    public boolean get(int i, int j) {
+        return (bits[i][j >>> 6] & (1L << j)) != 0;
+    }
+
+    public void set(int i, int j, boolean value) {
+        if (value) bits[i][j >>> 6] |= 1L << j;
+        else bits[i][j >>> 6] &= ~(1L << j);
+    }
+
+    /**
+     * Number of true entries.
+     */
+    public long cardinality() {
+        long count = 0;
+        for (long[] row : bits)
+            for (long w : row) count += Long.bitCount(w);
+        return count;
+    }
+
+    public BitMatrix transpose() {
+        BitMatrix t = new BitMatrix(cols, rows);
+        for (int i = 0; i < rows; i++) {
+            long[] row = bits[i];
+            for (int w = 0; w < wordsPerRow; w++) {
+                // Visit set bits only
+                for (long word = row[w]; word != 0; word &= word - 1) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                    t.bits[j][i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return t;
+    }
+
+    public BitMatrix copy() {
+        BitMatrix m = new BitMatrix(rows, cols);
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(bits[i], 0, m.bits[i], 0, wordsPerRow);
+        return m;
+    }
+
+    /**
+     * 1.0 for true entries, 0.0 otherwise.
+     */
+    public Matrix toDense() {
+        Matrix m = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                if (get(i, j)) m.data[i][j] = 1.0;
+        return m;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BitMatrix)) return false;
+        BitMatrix other = (BitMatrix) o;
+        return rows == other.rows && cols == other.cols && Arrays.deepEquals(bits, other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.deepHashCode(bits);
+    }
+}
@@ -0,0 +1,39 @@
+package matrix;
+
+import java.util.Random;
+
+/**
+ * Dense matrix of 32-bit integers, for exact (combinatorial) products.
+ */
+public class IntMatrix {
+    public final int rows;
+    public final int cols;
+    public final int[][] data;
+
+    public IntMatrix(int r, int c) {
+        rows = r;
+        cols = c;
+        data = new int[r][c];
+    }
+
+    /**
+     * Random matrix with entries uniformly drawn from [0, bound).
+     */
+    public static IntMatrix random(int r, int c, int bound) {
+        IntMatrix m = new IntMatrix(r, c);
+        Random rand = new Random();
+
+        for (int i = 0; i < r; i++)
+            for (int j = 0; j < c; j++)
+                m.data[i][j] = rand.nextInt(bound);
+
+        return m;
+    }
+
+    public IntMatrix copy() {
+        IntMatrix m = new IntMatrix(rows, cols);
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(data[i], 0, m.data[i], 0, cols);
+        return m;
+    }
+}
@@ -0,0 +1,47 @@
+package matrix;
+
+import java.util.Random;
+
+/**
+ * Dense matrix of 64-bit integers, for exact (combinatorial) products.
+ */
+public class LongMatrix {
+    public final int rows;
+    public final int cols;
+    public final long[][] data;
+
+    public LongMatrix(int r, int c) {
+        rows = r;
+        cols = c;
+        data = new long[r][c];
+    }
+
+    /**
+     * Random matrix with entries uniformly drawn from [0, bound).
+     */
+    public static LongMatrix random(int r, int c, long bound) {
+        LongMatrix m = new LongMatrix(r, c);
+        Random rand = new Random();
+
+        for (int i = 0; i < r; i++)
+            for (int j = 0; j < c; j++)
+                m.data[i][j] = Math.floorMod(rand.nextLong(), bound);
+
+        return m;
+    }
+
+    public static LongMatrix fromInt(IntMatrix m) {
+        LongMatrix l = new LongMatrix(m.rows, m.cols);
+        for (int i = 0; i < m.rows; i++)
+            for (int j = 0; j < m.cols; j++)
+                l.data[i][j] = m.data[i][j];
+        return l;
+    }
+
+    public LongMatrix copy() {
+        LongMatrix m = new LongMatrix(rows, cols);
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(data[i], 0, m.data[i], 0, cols);
+        return m;
+    }
+}
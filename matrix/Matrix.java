@@ -24,6 +24,16 @@ public class Matrix {
         return m;
     }
 
+    /**
+     * Returns a deep copy of this matrix.
+     */
+    public Matrix copy() {
+        Matrix m = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(data[i], 0, m.data[i], 0, cols);
+        return m;
+    }
+
     public int getRowCount() {
         return rows;
     }
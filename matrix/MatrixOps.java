@@ -0,0 +1,383 @@
+package matrix;
+
+import java.util.concurrent.*;
+
+/**
+ * Fork/Join-parallel element-wise operations and reductions on Matrix.
+ *
+ * Every element-wise operation comes in three forms:
+ * - add(A, B)             returns a new matrix;
+ * - add(A, B, dest)       writes into an existing matrix (dest may be A or B);
+ * - addInPlace(A, B)      overwrites A.
+ * so callers can reuse buffers instead of allocating a temporary per step.
+ *
+ * Work is split by row ranges. Inputs with at most PARALLEL_CUTOFF elements are
+ * processed in the calling thread, because for small matrices the cost of
+ * scheduling tasks on the pool outweighs the work itself.
+ */
+public final class MatrixOps {
+
+    // Inputs at or below this many elements are processed sequentially
+    static final int PARALLEL_CUTOFF = 1 << 15;
+
+    private MatrixOps() {
+    }
+
+    // ---------------------------------------------------------------------
+    // Element-wise operations
+    // ---------------------------------------------------------------------
+
+    public static Matrix add(Matrix A, Matrix B) {
+        return add(A, B, new Matrix(A.rows, A.cols));
+    }
+
+    public static Matrix add(Matrix A, Matrix B, Matrix dest) {
+        checkSameShape(A, B, "added to");
+        checkSameShape(A, dest, "stored in");
+        run(Op.ADD, A, B, 0.0, dest);
+        return dest;
+    }
+
+    public static void addInPlace(Matrix A, Matrix B) {
+        add(A, B, A);
+    }
+
+    public static Matrix subtract(Matrix A, Matrix B) {
+        return subtract(A, B, new Matrix(A.rows, A.cols));
+    }
+
+    public static Matrix subtract(Matrix A, Matrix B, Matrix dest) {
+        checkSameShape(A, B, "subtracted from");
+        checkSameShape(A, dest, "stored in");
+        run(Op.SUBTRACT, A, B, 0.0, dest);
+        return dest;
+    }
+
+    public static void subtractInPlace(Matrix A, Matrix B) {
+        subtract(A, B, A);
+    }
+
+    public static Matrix scale(Matrix A, double factor) {
+        return scale(A, factor, new Matrix(A.rows, A.cols));
+    }
+
+    public static Matrix scale(Matrix A, double factor, Matrix dest) {
+        checkSameShape(A, dest, "stored in");
+        run(Op.SCALE, A, null, factor, dest);
+        return dest;
+    }
+
+    public static void scaleInPlace(Matrix A, double factor) {
+        scale(A, factor, A);
+    }
+
+    /**
+     * A += factor * B (BLAS axpy on whole matrices).
+     */
+    public static void addScaledInPlace(Matrix A, double factor, Matrix B) {
+        checkSameShape(A, B, "added to");
+        run(Op.AXPY, A, B, factor, A);
+    }
+
+    /**
+     * Element-wise (Hadamard) product.
+     */
+    public static Matrix hadamard(Matrix A, Matrix B) {
+        return hadamard(A, B, new Matrix(A.rows, A.cols));
+    }
+
+    public static Matrix hadamard(Matrix A, Matrix B, Matrix dest) {
+        checkSameShape(A, B, "multiplied element-wise by");
+        checkSameShape(A, dest, "stored in");
+        run(Op.HADAMARD, A, B, 0.0, dest);
+        return dest;
+    }
+
+    public static void hadamardInPlace(Matrix A, Matrix B) {
+        hadamard(A, B, A);
+    }
+
+    // ---------------------------------------------------------------------
+    // Reductions
+    // ---------------------------------------------------------------------
+
+    public static double sum(Matrix A) {
+        return reduce(Reduction.SUM, A);
+    }
+
+    public static double min(Matrix A) {
+        return reduce(Reduction.MIN, A);
+    }
+
+    public static double max(Matrix A) {
+        return reduce(Reduction.MAX, A);
+    }
+
+    /**
+     * Frobenius norm: square root of the sum of squared elements.
+     */
+    public static double frobeniusNorm(Matrix A) {
+        return Math.sqrt(reduce(Reduction.SUM_OF_SQUARES, A));
+    }
+
+    /**
+     * Max norm: largest absolute element.
+     */
+    public static double maxNorm(Matrix A) {
+        return reduce(Reduction.MAX_ABS, A);
+    }
+
+    /**
+     * Infinity norm: largest absolute row sum.
+     */
+    public static double infinityNorm(Matrix A) {
+        return reduce(Reduction.MAX_ABS_ROW_SUM, A);
+    }
+
+    /**
+     * One norm: largest absolute column sum.
+     */
+    public static double oneNorm(Matrix A) {
+        double[] columnSums = columnAbsSums(A);
+        double norm = 0;
+        for (double s : columnSums) norm = Math.max(norm, s);
+        return norm;
+    }
+
+    /**
+     * Sum of the diagonal. Only min(rows, cols) elements are touched, so this is
+     * never worth parallelizing.
+     */
+    public static double trace(Matrix A) {
+        double trace = 0;
+        int n = Math.min(A.rows, A.cols);
+        for (int i = 0; i < n; i++) trace += A.data[i][i];
+        return trace;
+    }
+
+    // ---------------------------------------------------------------------
+    // Implementation
+    // ---------------------------------------------------------------------
+
+    private static void checkSameShape(Matrix A, Matrix B, String verb) {
+        if (A.rows != B.rows || A.cols != B.cols) {
+            throw new IllegalArgumentException(
+                "Matrix dimensions incompatible: B(" + B.rows + "x" + B.cols + ") cannot be " +
+                verb + " A(" + A.rows + "x" + A.cols + ")");
+        }
+    }
+
+    private static boolean isSmall(Matrix A) {
+        return (long) A.rows * A.cols <= PARALLEL_CUTOFF;
+    }
+
+    /**
+     * Rows per leaf task so each leaf touches about PARALLEL_CUTOFF elements.
+     */
+    private static int rowsPerTask(Matrix A) {
+        return Math.max(1, PARALLEL_CUTOFF / Math.max(1, A.cols));
+    }
+
+    private enum Op { ADD, SUBTRACT, SCALE, AXPY, HADAMARD }
+
+    private static void run(Op op, Matrix A, Matrix B, double factor, Matrix dest) {
+        if (isSmall(A)) {
+            apply(op, A, B, factor, dest, 0, A.rows);
+        } else {
+            ForkJoinPool.commonPool().invoke(
+                new ElementwiseTask(op, A, B, factor, dest, 0, A.rows, rowsPerTask(A)));
+        }
+    }
+
+    private static void apply(Op op, Matrix A, Matrix B, double factor, Matrix dest, int start, int end) {
+        int cols = A.cols;
+        for (int i = start; i < end; i++) {
+            double[] a = A.data[i];
+            double[] b = B != null ? B.data[i] : null;
+            double[] d = dest.data[i];
+            switch (op) {
+                case ADD:
+                    for (int j = 0; j < cols; j++) d[j] = a[j] + b[j];
+                    break;
+                case SUBTRACT:
+                    for (int j = 0; j < cols; j++) d[j] = a[j] - b[j];
+                    break;
+                case SCALE:
+                    for (int j = 0; j < cols; j++) d[j] = factor * a[j];
+                    break;
+                case AXPY:
+                    for (int j = 0; j < cols; j++) d[j] = a[j] + factor * b[j];
+                    break;
+                case HADAMARD:
+                    for (int j = 0; j < cols; j++) d[j] = a[j] * b[j];
+                    break;
+            }
+        }
+    }
+
+    private static class ElementwiseTask extends RecursiveAction {
+        private final Op op;
+        private final Matrix A, B, dest;
+        private final double factor;
+        private final int start, end, grain;
+
+        ElementwiseTask(Op op, Matrix A, Matrix B, double factor, Matrix dest,
+                        int start, int end, int grain) {
+            this.op = op;
+            this.A = A;
+            this.B = B;
+            this.factor = factor;
+            this.dest = dest;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                apply(op, A, B, factor, dest, start, end);
+                return;
+            }
+            int mid = (start + end) / 2;
+            invokeAll(new ElementwiseTask(op, A, B, factor, dest, start, mid, grain),
+                      new ElementwiseTask(op, A, B, factor, dest, mid, end, grain));
+        }
+    }
+
+    private enum Reduction {
+        SUM, SUM_OF_SQUARES, MIN, MAX, MAX_ABS, MAX_ABS_ROW_SUM;
+
+        double identity() {
+            switch (this) {
+                case MIN: return Double.POSITIVE_INFINITY;
+                case MAX: return Double.NEGATIVE_INFINITY;
+                default: return 0.0;
+            }
+        }
+
+        double combine(double x, double y) {
+            switch (this) {
+                case MIN: return Math.min(x, y);
+                case MAX:
+                case MAX_ABS:
+                case MAX_ABS_ROW_SUM: return Math.max(x, y);
+                default: return x + y;
+            }
+        }
+    }
+
+    private static double reduce(Reduction r, Matrix A) {
+        if (A.rows == 0 || A.cols == 0) {
+            if (r == Reduction.MIN || r == Reduction.MAX) {
+                throw new IllegalArgumentException("min/max of an empty matrix is undefined");
+            }
+            return 0.0;
+        }
+        if (isSmall(A)) {
+            return reduceRows(r, A, 0, A.rows);
+        }
+        return ForkJoinPool.commonPool().invoke(new ReduceTask(r, A, 0, A.rows, rowsPerTask(A)));
+    }
+
+    private static double reduceRows(Reduction r, Matrix A, int start, int end) {
+        double acc = r.identity();
+        for (int i = start; i < end; i++) {
+            double[] row = A.data[i];
+            switch (r) {
+                case SUM:
+                    for (double v : row) acc += v;
+                    break;
+                case SUM_OF_SQUARES:
+                    for (double v : row) acc += v * v;
+                    break;
+                case MIN:
+                    for (double v : row) acc = Math.min(acc, v);
+                    break;
+                case MAX:
+                    for (double v : row) acc = Math.max(acc, v);
+                    break;
+                case MAX_ABS:
+                    for (double v : row) acc = Math.max(acc, Math.abs(v));
+                    break;
+                case MAX_ABS_ROW_SUM:
+                    double rowSum = 0;
+                    for (double v : row) rowSum += Math.abs(v);
+                    acc = Math.max(acc, rowSum);
+                    break;
+            }
+        }
+        return acc;
+    }
+
+    private static class ReduceTask extends RecursiveTask<Double> {
+        private final Reduction r;
+        private final Matrix A;
+        private final int start, end, grain;
+
+        ReduceTask(Reduction r, Matrix A, int start, int end, int grain) {
+            this.r = r;
+            this.A = A;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+
+        @Override
+        protected Double compute() {
+            if (end - start <= grain) {
+                return reduceRows(r, A, start, end);
+            }
+            int mid = (start + end) / 2;
+            ReduceTask left = new ReduceTask(r, A, start, mid, grain);
+            left.fork();
+            double right = new ReduceTask(r, A, mid, end, grain).compute();
+            return r.combine(left.join(), right);
+        }
+    }
+
+    private static double[] columnAbsSums(Matrix A) {
+        if (isSmall(A)) {
+            return columnAbsSums(A, 0, A.rows);
+        }
+        return ForkJoinPool.commonPool().invoke(new ColumnSumTask(A, 0, A.rows, rowsPerTask(A)));
+    }
+
+    private static double[] columnAbsSums(Matrix A, int start, int end) {
+        double[] sums = new double[A.cols];
+        for (int i = start; i < end; i++) {
+            double[] row = A.data[i];
+            for (int j = 0; j < A.cols; j++) sums[j] += Math.abs(row[j]);
+        }
+        return sums;
+    }
+
+    /**
+     * Per-row-range column sums, merged pairwise into the left partial result.
+     */
+    private static class ColumnSumTask extends RecursiveTask<double[]> {
+        private final Matrix A;
+        private final int start, end, grain;
+
+        ColumnSumTask(Matrix A, int start, int end, int grain) {
+            this.A = A;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (end - start <= grain) {
+                return columnAbsSums(A, start, end);
+            }
+            int mid = (start + end) / 2;
+            ColumnSumTask left = new ColumnSumTask(A, start, mid, grain);
+            left.fork();
+            double[] right = new ColumnSumTask(A, mid, end, grain).compute();
+            double[] sums = left.join();
+            for (int j = 0; j < sums.length; j++) sums[j] += right[j];
+            return sums;
+        }
+    }
+}
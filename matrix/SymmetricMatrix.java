@@ -0,0 +1,90 @@
+package matrix;
+
+import java.util.Random;
+
+/**
+ * Symmetric n x n matrix stored as its packed upper triangle.
+ *
+ * Row i of the upper triangle, elements (i, i) .. (i, n-1), is stored contiguously
+ * starting at offset(i), so the whole matrix takes n * (n + 1) / 2 doubles instead
+ * of n * n. Element (i, j) with i > j is read from (j, i).
+ */
+public class SymmetricMatrix {
+    public final int n;
+    public final double[] packed;
+
+    public SymmetricMatrix(int n) {
+        this.n = n;
+        this.packed = new double[packedLength(n)];
+    }
+
+    /**
+     * Packs the upper triangle of a square matrix. The strict lower triangle is not read.
+     */
+    public static SymmetricMatrix fromDense(Matrix m) {
+        if (m.rows != m.cols) {
+            throw new IllegalArgumentException(
+                "Symmetric matrix must be square, got " + m.rows + "x" + m.cols);
+        }
+        SymmetricMatrix s = new SymmetricMatrix(m.rows);
+        for (int i = 0; i < s.n; i++)
+            System.arraycopy(m.data[i], i, s.packed, s.offset(i), s.n - i);
+        return s;
+    }
+
+    public static SymmetricMatrix random(int n) {
+        SymmetricMatrix s = new SymmetricMatrix(n);
+        Random rand = new Random();
+        for (int i = 0; i < s.packed.length; i++)
+            s.packed[i] = rand.nextDouble() * 10;
+        return s;
+    }
+
+    /**
+     * Index of element (i, i) in packed; row i continues up to (i, n-1).
+     */
+    public int offset(int i) {
+        return (int) ((long) i * n - (long) i * (i - 1) / 2);
+    }
+
+    public double get(int i, int j) {
+        return i <= j ? packed[offset(i) + j - i] : packed[offset(j) + i - j];
+    }
+
+    /**
+     * Sets (i, j) and, implicitly, (j, i).
+     */
+    public void set(int i, int j, double value) {
+        if (i <= j) packed[offset(i) + j - i] = value;
+        else packed[offset(j) + i - j] = value;
+    }
+
+    /**
+     * Copies the full row i, both triangles, into dest[0 .. n).
+     */
+    public void getRow(int i, double[] dest) {
+        for (int k = 0; k < i; k++)
+            dest[k] = packed[offset(k) + i - k];
+        System.arraycopy(packed, offset(i), dest, i, n - i);
+    }
+
+    public Matrix toDense() {
+        Matrix m = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            int off = offset(i);
+            for (int j = i; j < n; j++) {
+                m.data[i][j] = packed[off + j - i];
+                m.data[j][i] = packed[off + j - i];
+            }
+        }
+        return m;
+    }
+
+    static int packedLength(int n) {
+        long length = (long) n * (n + 1) / 2;
+        if (n < 0 || length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cannot pack a triangle of order " + n);
+        }
+        return (int) length;
+    }
+}
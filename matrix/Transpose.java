@@ -0,0 +1,274 @@
+package matrix;
+
+import java.util.concurrent.*;
+
+/**
+ * Cache-oblivious, Fork/Join-parallel transpose and layout conversion.
+ *
+ * A naive transpose loop reads rows and writes columns, so one side of the copy
+ * touches a new cache line (and often a new page) on every element. Here the
+ * index space is halved recursively along its longer side until a block fits in
+ * cache, at which point the naive loop is cheap. No tile size has to be tuned
+ * for the machine; the recursion reaches a cache-sized block at every level of
+ * the memory hierarchy.
+ *
+ * Large blocks are split into parallel subtasks; below PARALLEL_CUTOFF elements
+ * the recursion continues in the current thread.
+ */
+public final class Transpose {
+
+    // Blocks with at most this many elements are copied with the naive loop
+    private static final int LEAF_ELEMENTS = 32 * 32;
+
+    // Blocks with at most this many elements are not split into parallel tasks
+    private static final int PARALLEL_CUTOFF = 128 * 128;
+
+    private Transpose() {
+    }
+
+    /**
+     * Returns m^T as a new matrix.
+     */
+    public static Matrix transpose(Matrix m) {
+        Matrix t = new Matrix(m.cols, m.rows);
+        run(new CopyTask(Layout.MATRIX_TO_MATRIX, m, t, null, 0, m.rows, 0, m.cols));
+        return t;
+    }
+
+    /**
+     * Transposes a square matrix in place.
+     *
+     * @throws IllegalArgumentException if the matrix is not square
+     */
+    public static void transposeInPlace(Matrix m) {
+        if (m.rows != m.cols) {
+            throw new IllegalArgumentException(
+                "In-place transpose needs a square matrix, got " + m.rows + "x" + m.cols);
+        }
+        run(new DiagonalTask(m, 0, m.rows));
+    }
+
+    /**
+     * Flattens m into a column-major array: element (i, j) is at index j * rows + i.
+     */
+    public static double[] toColumnMajor(Matrix m) {
+        double[] flat = new double[m.rows * m.cols];
+        run(new CopyTask(Layout.MATRIX_TO_COLUMN_MAJOR, m, null, flat, 0, m.rows, 0, m.cols));
+        return flat;
+    }
+
+    /**
+     * Builds a matrix from a column-major array: element (i, j) is read from index j * rows + i.
+     */
+    public static Matrix fromColumnMajor(double[] flat, int rows, int cols) {
+        if (flat.length != rows * cols) {
+            throw new IllegalArgumentException(
+                "Array of length " + flat.length + " does not hold a " + rows + "x" + cols + " matrix");
+        }
+        Matrix m = new Matrix(rows, cols);
+        run(new CopyTask(Layout.COLUMN_MAJOR_TO_MATRIX, m, null, flat, 0, rows, 0, cols));
+        return m;
+    }
+
+    /**
+     * Reference implementation: the straightforward row-by-row loop.
+     */
+    public static Matrix transposeNaive(Matrix m) {
+        Matrix t = new Matrix(m.cols, m.rows);
+        for (int i = 0; i < m.rows; i++)
+            for (int j = 0; j < m.cols; j++)
+                t.data[j][i] = m.data[i][j];
+        return t;
+    }
+
+    private static void run(ForkJoinTask<?> task) {
+        ForkJoinPool.commonPool().invoke(task);
+    }
+
+    private enum Layout {
+        MATRIX_TO_MATRIX,        // dst[j][i] = src[i][j]
+        MATRIX_TO_COLUMN_MAJOR,  // flat[j * rows + i] = src[i][j]
+        COLUMN_MAJOR_TO_MATRIX   // src[i][j] = flat[j * rows + i]
+    }
+
+    /**
+     * Copies the block [rStart, rEnd) x [cStart, cEnd) of the source index space
+     * into its transposed position.
+     */
+    private static class CopyTask extends RecursiveAction {
+        private final Layout layout;
+        private final Matrix src, dst;
+        private final double[] flat;
+        private final int rStart, rEnd, cStart, cEnd;
+
+        CopyTask(Layout layout, Matrix src, Matrix dst, double[] flat,
+                 int rStart, int rEnd, int cStart, int cEnd) {
+            this.layout = layout;
+            this.src = src;
+            this.dst = dst;
+            this.flat = flat;
+            this.rStart = rStart;
+            this.rEnd = rEnd;
+            this.cStart = cStart;
+            this.cEnd = cEnd;
+        }
+
+        @Override
+        protected void compute() {
+            recurse(rStart, rEnd, cStart, cEnd, true);
+        }
+
+        private void recurse(int r0, int r1, int c0, int c1, boolean parallel) {
+            int rows = r1 - r0;
+            int cols = c1 - c0;
+            if (rows * cols <= LEAF_ELEMENTS) {
+                copyBlock(r0, r1, c0, c1);
+                return;
+            }
+            boolean fork = parallel && rows * cols > PARALLEL_CUTOFF;
+            // Halve the longer side so blocks stay roughly square
+            if (rows >= cols) {
+                int mid = (r0 + r1) / 2;
+                if (fork) {
+                    invokeAll(new CopyTask(layout, src, dst, flat, r0, mid, c0, c1),
+                              new CopyTask(layout, src, dst, flat, mid, r1, c0, c1));
+                } else {
+                    recurse(r0, mid, c0, c1, false);
+                    recurse(mid, r1, c0, c1, false);
+                }
+            } else {
+                int mid = (c0 + c1) / 2;
+                if (fork) {
+                    invokeAll(new CopyTask(layout, src, dst, flat, r0, r1, c0, mid),
+                              new CopyTask(layout, src, dst, flat, r0, r1, mid, c1));
+                } else {
+                    recurse(r0, r1, c0, mid, false);
+                    recurse(r0, r1, mid, c1, false);
+                }
+            }
+        }
+
+        private void copyBlock(int r0, int r1, int c0, int c1) {
+            int n = src.rows;
+            switch (layout) {
+                case MATRIX_TO_MATRIX:
+                    for (int i = r0; i < r1; i++) {
+                        double[] row = src.data[i];
+                        for (int j = c0; j < c1; j++)
+                            dst.data[j][i] = row[j];
+                    }
+                    break;
+                case MATRIX_TO_COLUMN_MAJOR:
+                    for (int i = r0; i < r1; i++) {
+                        double[] row = src.data[i];
+                        for (int j = c0; j < c1; j++)
+                            flat[j * n + i] = row[j];
+                    }
+                    break;
+                case COLUMN_MAJOR_TO_MATRIX:
+                    for (int i = r0; i < r1; i++) {
+                        double[] row = src.data[i];
+                        for (int j = c0; j < c1; j++)
+                            row[j] = flat[j * n + i];
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Transposes the diagonal block [start, end) x [start, end) of a square matrix in place:
+     * the two diagonal quadrants recurse, the off-diagonal quadrants are swapped.
+     */
+    private static class DiagonalTask extends RecursiveAction {
+        private final Matrix m;
+        private final int start, end;
+
+        DiagonalTask(Matrix m, int start, int end) {
+            this.m = m;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            int size = end - start;
+            if (size * size <= LEAF_ELEMENTS) {
+                for (int i = start; i < end; i++) {
+                    for (int j = i + 1; j < end; j++) {
+                        double tmp = m.data[i][j];
+                        m.data[i][j] = m.data[j][i];
+                        m.data[j][i] = tmp;
+                    }
+                }
+                return;
+            }
+            int mid = (start + end) / 2;
+            if (size * size > PARALLEL_CUTOFF) {
+                invokeAll(new DiagonalTask(m, start, mid),
+                          new DiagonalTask(m, mid, end),
+                          new SwapTask(m, start, mid, mid, end));
+            } else {
+                new DiagonalTask(m, start, mid).compute();
+                new DiagonalTask(m, mid, end).compute();
+                new SwapTask(m, start, mid, mid, end).compute();
+            }
+        }
+    }
+
+    /**
+     * Swaps the block [rStart, rEnd) x [cStart, cEnd) with its mirror
+     * [cStart, cEnd) x [rStart, rEnd), transposing both. The blocks lie on
+     * opposite sides of the diagonal, so they never overlap.
+     */
+    private static class SwapTask extends RecursiveAction {
+        private final Matrix m;
+        private final int rStart, rEnd, cStart, cEnd;
+
+        SwapTask(Matrix m, int rStart, int rEnd, int cStart, int cEnd) {
+            this.m = m;
+            this.rStart = rStart;
+            this.rEnd = rEnd;
+            this.cStart = cStart;
+            this.cEnd = cEnd;
+        }
+
+        @Override
+        protected void compute() {
+            recurse(rStart, rEnd, cStart, cEnd, true);
+        }
+
+        private void recurse(int r0, int r1, int c0, int c1, boolean parallel) {
+            int rows = r1 - r0;
+            int cols = c1 - c0;
+            if (rows * cols <= LEAF_ELEMENTS) {
+                for (int i = r0; i < r1; i++) {
+                    for (int j = c0; j < c1; j++) {
+                        double tmp = m.data[i][j];
+                        m.data[i][j] = m.data[j][i];
+                        m.data[j][i] = tmp;
+                    }
+                }
+                return;
+            }
+            boolean fork = parallel && rows * cols > PARALLEL_CUTOFF;
+            if (rows >= cols) {
+                int mid = (r0 + r1) / 2;
+                if (fork) {
+                    invokeAll(new SwapTask(m, r0, mid, c0, c1), new SwapTask(m, mid, r1, c0, c1));
+                } else {
+                    recurse(r0, mid, c0, c1, false);
+                    recurse(mid, r1, c0, c1, false);
+                }
+            } else {
+                int mid = (c0 + c1) / 2;
+                if (fork) {
+                    invokeAll(new SwapTask(m, r0, r1, c0, mid), new SwapTask(m, r0, r1, mid, c1));
+                } else {
+                    recurse(r0, r1, c0, mid, false);
+                    recurse(r0, r1, mid, c1, false);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package matrix;
+
+import java.util.Random;
+
+/**
+ * Upper or lower triangular n x n matrix stored packed by rows.
+ *
+ * Only the triangle is stored: row i holds columns [rowStart(i), rowEnd(i)) contiguously
+ * from offset(i). Elements outside the triangle are zero and cannot be set.
+ */
+public class TriangularMatrix {
+    public final int n;
+    public final boolean upper;
+    public final double[] packed;
+
+    public TriangularMatrix(int n, boolean upper) {
+        this.n = n;
+        this.upper = upper;
+        this.packed = new double[SymmetricMatrix.packedLength(n)];
+    }
+
+    /**
+     * Packs the upper or lower triangle of a square matrix; the other triangle is not read.
+     */
+    public static TriangularMatrix fromDense(Matrix m, boolean upper) {
+        if (m.rows != m.cols) {
+            throw new IllegalArgumentException(
+                "Triangular matrix must be square, got " + m.rows + "x" + m.cols);
+        }
+        TriangularMatrix t = new TriangularMatrix(m.rows, upper);
+        for (int i = 0; i < t.n; i++)
+            System.arraycopy(m.data[i], t.rowStart(i), t.packed, t.offset(i), t.rowEnd(i) - t.rowStart(i));
+        return t;
+    }
+
+    public static TriangularMatrix random(int n, boolean upper) {
+        TriangularMatrix t = new TriangularMatrix(n, upper);
+        Random rand = new Random();
+        for (int i = 0; i < t.packed.length; i++)
+            t.packed[i] = rand.nextDouble() * 10;
+        return t;
+    }
+
+    /**
+     * First stored column of row i.
+     */
+    public int rowStart(int i) {
+        return upper ? i : 0;
+    }
+
+    /**
+     * One past the last stored column of row i.
+     */
+    public int rowEnd(int i) {
+        return upper ? n : i + 1;
+    }
+
+    /**
+     * Index of element (i, rowStart(i)) in packed.
+     */
+    public int offset(int i) {
+        return (int) (upper ? (long) i * n - (long) i * (i - 1) / 2 : (long) i * (i + 1) / 2);
+    }
+
+    public double get(int i, int j) {
+        if (j < rowStart(i) || j >= rowEnd(i)) return 0.0;
+        return packed[offset(i) + j - rowStart(i)];
+    }
+
+    public void set(int i, int j, double value) {
+        if (j < rowStart(i) || j >= rowEnd(i)) {
+            throw new IllegalArgumentException(
+                "(" + i + ", " + j + ") is outside the " + (upper ? "upper" : "lower") + " triangle");
+        }
+        packed[offset(i) + j - rowStart(i)] = value;
+    }
+
+    public Matrix toDense() {
+        Matrix m = new Matrix(n, n);
+        for (int i = 0; i < n; i++)
+            System.arraycopy(packed, offset(i), m.data[i], rowStart(i), rowEnd(i) - rowStart(i));
+        return m;
+    }
+}